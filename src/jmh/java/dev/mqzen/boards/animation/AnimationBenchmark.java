@@ -0,0 +1,66 @@
+package dev.mqzen.boards.animation;
+
+import dev.mqzen.boards.animation.core.Animation;
+import dev.mqzen.boards.animation.core.AnimationRegistry;
+import dev.mqzen.boards.animation.core.SharedAnimation;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of fetching the next frame of each animation, done for every animated line on every update.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AnimationBenchmark {
+
+	private HighlightingAnimation highlighting;
+	private ScrollAnimation scroll;
+	private Animation<String> sequence;
+	private SharedAnimation<String> shared;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		highlighting = HighlightingAnimation.of("mBoard benchmark", ChatColor.GOLD, ChatColor.YELLOW);
+		scroll = ScrollAnimation.of("§aThis is a long §emessage §ato scroll", 16, 4);
+		sequence = new Animation<>("a", "a", "b", "c", "d");
+		shared = AnimationRegistry.register("benchmark", HighlightingAnimation.of("shared benchmark", ChatColor.AQUA, ChatColor.WHITE));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		AnimationRegistry.unregister("benchmark");
+	}
+
+	@Benchmark
+	public String highlighting() {
+		return highlighting.fetchNextChange();
+	}
+
+	@Benchmark
+	public String scroll() {
+		return scroll.fetchNextChange();
+	}
+
+	@Benchmark
+	public String sequence() {
+		return sequence.fetchNextChange();
+	}
+
+	@Benchmark
+	public String sharedSameTick() {
+		return shared.fetchNextChange();
+	}
+
+	@Benchmark
+	public String sharedNextTick() {
+		AnimationRegistry.tick();
+		return shared.fetchNextChange();
+	}
+
+}
@@ -0,0 +1,145 @@
+package dev.mqzen.boards.base.impl;
+
+import dev.mqzen.boards.base.BoardAdapter;
+import dev.mqzen.boards.entity.Body;
+import dev.mqzen.boards.entity.Title;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.craftbukkit.CraftServer;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The send path of a board update, from the diff of the lines to the packets written to the connection stub.
+ * Run with the gc profiler to get the allocation rate of each path: {@code ./gradlew jmh}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardUpdateBenchmark {
+
+	private static final int DISTINCT_COMPONENTS = 4096;
+
+	@Param({"8", "15"})
+	public int lineCount;
+
+	private LegacyBoard legacyBoard;
+	private AdventureBoard adventureBoard;
+	private List<String> legacyLines;
+	private List<String> changedLegacyLines;
+	private List<Component> components;
+	private List<Component> changedComponents;
+	private Component[] distinctComponents;
+	private Component cachedComponent;
+	private boolean flip;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		CraftServer.install();
+		Player player = CraftPlayer.create("benchmark");
+
+		legacyLines = new ArrayList<>();
+		changedLegacyLines = new ArrayList<>();
+		components = new ArrayList<>();
+		changedComponents = new ArrayList<>();
+		for (int i = 0; i < lineCount; i++) {
+			legacyLines.add("§7Line §e" + i);
+			changedLegacyLines.add("§7Line §a" + i + " §8(changed)");
+			components.add(Component.text("Line " + i, NamedTextColor.GRAY));
+			changedComponents.add(Component.text("Line " + i + " (changed)", NamedTextColor.GREEN));
+		}
+
+		distinctComponents = new Component[DISTINCT_COMPONENTS];
+		for (int i = 0; i < DISTINCT_COMPONENTS; i++) {
+			distinctComponents[i] = Component.text("Value " + i, NamedTextColor.YELLOW);
+		}
+		cachedComponent = components.get(0);
+
+		legacyBoard = new LegacyBoard(player, new Adapter(Title.legacy().ofText("&6Benchmark"), Body.legacy(legacyLines)));
+		adventureBoard = new AdventureBoard(player, new Adapter(
+				Title.adventure().ofComponent(Component.text("Benchmark", NamedTextColor.GOLD)), Body.adventure(components)));
+	}
+
+	@Benchmark
+	public void updateLinesUnchanged() {
+		legacyBoard.updateLines(legacyLines);
+	}
+
+	@Benchmark
+	public void updateLinesChanged() {
+		legacyBoard.updateLines((flip = !flip) ? changedLegacyLines : legacyLines);
+	}
+
+	@Benchmark
+	public void updateLinesChangedInFrame() {
+		legacyBoard.beginFrame();
+		try {
+			legacyBoard.updateLines((flip = !flip) ? changedLegacyLines : legacyLines);
+		} finally {
+			legacyBoard.endFrame();
+		}
+	}
+
+	@Benchmark
+	public void updateLineUnchanged() {
+		legacyBoard.updateLine(1, legacyLines.get(1));
+	}
+
+	@Benchmark
+	public void updateLineChanged() {
+		legacyBoard.updateLine(1, (flip = !flip) ? changedLegacyLines.get(1) : legacyLines.get(1));
+	}
+
+	@Benchmark
+	public void adventureUpdateLinesChanged() {
+		adventureBoard.updateLines((flip = !flip) ? changedComponents : components);
+	}
+
+	@Benchmark
+	public void legacySendLineChange() throws Throwable {
+		legacyBoard.sendLineChange(1);
+	}
+
+	@Benchmark
+	public Object adventureToMinecraftComponentCached() throws Throwable {
+		return adventureBoard.toMinecraftComponent(cachedComponent);
+	}
+
+	@Benchmark
+	public Object adventureToMinecraftComponentMiss() throws Throwable {
+		// more distinct components than the conversion cache holds
+		return adventureBoard.toMinecraftComponent(distinctComponents[cursor++ & (DISTINCT_COMPONENTS - 1)]);
+	}
+
+	private static final class Adapter implements BoardAdapter {
+
+		private final Title<?> title;
+		private final Body<?> body;
+
+		private Adapter(Title<?> title, Body<?> body) {
+			this.title = title;
+			this.body = body;
+		}
+
+		@Override
+		public @NonNull Title<?> title(Player player) {
+			return title;
+		}
+
+		@Override
+		public @NonNull Body<?> getBody(Player player) {
+			return body;
+		}
+	}
+
+}
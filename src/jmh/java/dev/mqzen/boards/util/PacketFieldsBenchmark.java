@@ -0,0 +1,80 @@
+package dev.mqzen.boards.util;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a packet field through the precompiled setters,
+ * compared to the loop over the cached fields and {@link Field#set(Object, Object)} they replaced.
+ * Both paths set the same fields: the objective name, the display name and the method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PacketFieldsBenchmark {
+
+	private PacketFields fields;
+	private ClientboundSetObjectivePacket packet;
+	private Component displayName;
+	private Field[] cachedFields;
+
+	@Setup(Level.Trial)
+	public void setup() throws ReflectiveOperationException {
+		fields = PacketFields.compile(ClientboundSetObjectivePacket.class, Component.class, MethodHandles.lookup());
+		packet = new ClientboundSetObjectivePacket();
+		displayName = Component.literal("Benchmark");
+		cachedFields = Arrays.stream(ClientboundSetObjectivePacket.class.getDeclaredFields())
+				.filter(field -> !Modifier.isStatic(field.getModifiers()))
+				.toArray(Field[]::new);
+		for (Field field : cachedFields) {
+			field.setAccessible(true);
+		}
+	}
+
+	@Benchmark
+	public Object compiledSetter() throws Throwable {
+		fields.set(packet, String.class, "objective", 0);
+		fields.setComponent(packet, displayName, 1);
+		fields.set(packet, int.class, 2, 0);
+		return packet;
+	}
+
+	@Benchmark
+	public Object reflectiveSetField() throws Throwable {
+		setField(packet, String.class, "objective", 0);
+		setComponentField(packet, displayName, 1);
+		setField(packet, int.class, 2, 0);
+		return packet;
+	}
+
+	// the loop every packet field used to go through, over the fields cached at bootstrap
+	private void setField(Object packet, Class<?> fieldType, Object value, int count) throws ReflectiveOperationException {
+		int i = 0;
+		for (Field field : cachedFields) {
+			if (field.getType() == fieldType && count == i++) {
+				field.set(packet, value);
+			}
+		}
+	}
+
+	// the text fields were counted among both the strings and the components
+	private void setComponentField(Object packet, Object value, int count) throws ReflectiveOperationException {
+		int i = 0;
+		for (Field field : cachedFields) {
+			if ((field.getType() == String.class || field.getType() == Component.class) && count == i++) {
+				field.set(packet, value);
+			}
+		}
+	}
+
+}
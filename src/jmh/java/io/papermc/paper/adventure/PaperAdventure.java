@@ -0,0 +1,19 @@
+package io.papermc.paper.adventure;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+/**
+ * Benchmark stub of the Paper adventure bridge, serializing the component
+ * like the server serializes it to a vanilla component.
+ */
+public final class PaperAdventure {
+
+	private PaperAdventure() {
+	}
+
+	public static net.minecraft.network.chat.Component asVanilla(Component component) {
+		return net.minecraft.network.chat.Component.literal(LegacyComponentSerializer.legacySection().serialize(component));
+	}
+
+}
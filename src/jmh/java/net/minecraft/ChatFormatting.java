@@ -0,0 +1,12 @@
+package net.minecraft;
+
+/**
+ * Benchmark stub of the chat formatting enum.
+ */
+public enum ChatFormatting {
+
+	BLACK, DARK_BLUE, DARK_GREEN, DARK_AQUA, DARK_RED, DARK_PURPLE, GOLD, GRAY,
+	DARK_GRAY, BLUE, GREEN, AQUA, RED, LIGHT_PURPLE, YELLOW, WHITE,
+	OBFUSCATED, BOLD, STRIKETHROUGH, UNDERLINE, ITALIC, RESET
+
+}
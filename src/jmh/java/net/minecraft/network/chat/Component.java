@@ -0,0 +1,29 @@
+package net.minecraft.network.chat;
+
+/**
+ * Benchmark stub of the Minecraft chat component, only holding its text.
+ */
+public interface Component {
+
+	String getString();
+
+	static Component literal(String text) {
+		return new Literal(text);
+	}
+
+	final class Literal implements Component {
+
+		private final String text;
+
+		private Literal(String text) {
+			this.text = text;
+		}
+
+		@Override
+		public String getString() {
+			return text;
+		}
+
+	}
+
+}
@@ -0,0 +1,13 @@
+package net.minecraft.network.chat.numbers;
+
+/**
+ * Benchmark stub of the blank number format.
+ */
+public final class BlankFormat implements NumberFormat {
+
+	public static final BlankFormat INSTANCE = new BlankFormat();
+
+	private BlankFormat() {
+	}
+
+}
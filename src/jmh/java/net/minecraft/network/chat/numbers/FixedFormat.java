@@ -0,0 +1,16 @@
+package net.minecraft.network.chat.numbers;
+
+import net.minecraft.network.chat.Component;
+
+/**
+ * Benchmark stub of the fixed number format.
+ */
+public final class FixedFormat implements NumberFormat {
+
+	private final Component value;
+
+	public FixedFormat(Component value) {
+		this.value = value;
+	}
+
+}
@@ -0,0 +1,7 @@
+package net.minecraft.network.chat.numbers;
+
+/**
+ * Benchmark stub of the 1.20.3+ score number format.
+ */
+public interface NumberFormat {
+}
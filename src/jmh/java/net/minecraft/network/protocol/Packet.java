@@ -0,0 +1,7 @@
+package net.minecraft.network.protocol;
+
+/**
+ * Benchmark stub of the Minecraft packet interface.
+ */
+public interface Packet<T> {
+}
@@ -0,0 +1,20 @@
+package net.minecraft.network.protocol.game;
+
+import net.minecraft.network.protocol.Packet;
+
+/**
+ * Benchmark stub of the 1.19.4+ bundle packet.
+ */
+public final class ClientboundBundlePacket implements Packet<Object> {
+
+	private final Iterable<Packet<?>> packets;
+
+	public ClientboundBundlePacket(Iterable<Packet<?>> packets) {
+		this.packets = packets;
+	}
+
+	public Iterable<Packet<?>> subPackets() {
+		return packets;
+	}
+
+}
@@ -0,0 +1,18 @@
+package net.minecraft.network.protocol.game;
+
+import net.minecraft.network.protocol.Packet;
+
+/**
+ * Benchmark stub of the 1.20.3+ reset score packet.
+ */
+public final class ClientboundResetScorePacket implements Packet<Object> {
+
+	private final String owner;
+	private final String objectiveName;
+
+	public ClientboundResetScorePacket(String owner, String objectiveName) {
+		this.owner = owner;
+		this.objectiveName = objectiveName;
+	}
+
+}
@@ -0,0 +1,14 @@
+package net.minecraft.network.protocol.game;
+
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.world.scores.DisplaySlot;
+
+/**
+ * Benchmark stub, the fields are declared in the order of the 1.20.5 server.
+ */
+public class ClientboundSetDisplayObjectivePacket implements Packet<Object> {
+
+	private DisplaySlot slot;
+	private String objectiveName;
+
+}
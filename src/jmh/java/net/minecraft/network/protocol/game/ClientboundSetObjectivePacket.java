@@ -0,0 +1,21 @@
+package net.minecraft.network.protocol.game;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.numbers.NumberFormat;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.world.scores.criteria.ObjectiveCriteria;
+
+import java.util.Optional;
+
+/**
+ * Benchmark stub, the fields are declared in the order of the 1.20.5 server.
+ */
+public class ClientboundSetObjectivePacket implements Packet<Object> {
+
+	private String objectiveName;
+	private Component displayName;
+	private ObjectiveCriteria.RenderType renderType;
+	private Optional<NumberFormat> numberFormat;
+	private int method;
+
+}
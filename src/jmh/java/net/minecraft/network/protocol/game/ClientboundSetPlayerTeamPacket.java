@@ -0,0 +1,32 @@
+package net.minecraft.network.protocol.game;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.Packet;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Benchmark stub, the fields are declared in the order of the 1.20.5 server.
+ */
+public class ClientboundSetPlayerTeamPacket implements Packet<Object> {
+
+	private int method;
+	private String name;
+	private Collection<String> players;
+	private Optional<Parameters> parameters;
+
+	public static class Parameters {
+
+		private Component displayName;
+		private Component playerPrefix;
+		private Component playerSuffix;
+		private String nameTagVisibility;
+		private String collisionRule;
+		private ChatFormatting color;
+		private int options;
+
+	}
+
+}
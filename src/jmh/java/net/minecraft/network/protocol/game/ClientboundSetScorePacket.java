@@ -0,0 +1,29 @@
+package net.minecraft.network.protocol.game;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.numbers.NumberFormat;
+import net.minecraft.network.protocol.Packet;
+
+import java.util.Optional;
+
+/**
+ * Benchmark stub of the 1.20.5 score packet.
+ */
+public final class ClientboundSetScorePacket implements Packet<Object> {
+
+	private final String owner;
+	private final String objectiveName;
+	private final int score;
+	private final Optional<Component> display;
+	private final Optional<NumberFormat> numberFormat;
+
+	public ClientboundSetScorePacket(String owner, String objectiveName, int score,
+	                                 Optional<Component> display, Optional<NumberFormat> numberFormat) {
+		this.owner = owner;
+		this.objectiveName = objectiveName;
+		this.score = score;
+		this.display = display;
+		this.numberFormat = numberFormat;
+	}
+
+}
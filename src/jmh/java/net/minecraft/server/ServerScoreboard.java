@@ -0,0 +1,12 @@
+package net.minecraft.server;
+
+/**
+ * Benchmark stub holding the score actions.
+ */
+public class ServerScoreboard {
+
+	public enum Method {
+		CHANGE, REMOVE
+	}
+
+}
@@ -0,0 +1,12 @@
+package net.minecraft.server.level;
+
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+
+/**
+ * Benchmark stub of the server player, only holding its connection.
+ */
+public class ServerPlayer {
+
+	public final ServerGamePacketListenerImpl connection = new ServerGamePacketListenerImpl();
+
+}
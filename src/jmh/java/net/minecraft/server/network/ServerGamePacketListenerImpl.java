@@ -0,0 +1,27 @@
+package net.minecraft.server.network;
+
+import net.minecraft.network.protocol.Packet;
+
+/**
+ * Benchmark stub of the player connection, the packets are counted
+ * and the last one is kept so building them can't be optimized away.
+ */
+public class ServerGamePacketListenerImpl {
+
+	private volatile Packet<?> lastPacket;
+	private long sentPackets;
+
+	public void send(Packet<?> packet) {
+		this.lastPacket = packet;
+		this.sentPackets++;
+	}
+
+	public Packet<?> getLastPacket() {
+		return lastPacket;
+	}
+
+	public long getSentPackets() {
+		return sentPackets;
+	}
+
+}
@@ -0,0 +1,10 @@
+package net.minecraft.world.scores;
+
+/**
+ * Benchmark stub of the display slots.
+ */
+public enum DisplaySlot {
+
+	LIST, SIDEBAR, BELOW_NAME
+
+}
@@ -0,0 +1,16 @@
+package net.minecraft.world.scores;
+
+/**
+ * Benchmark stub holding the team enums.
+ */
+public abstract class Team {
+
+	public enum Visibility {
+		ALWAYS, NEVER, HIDE_FOR_OTHER_TEAMS, HIDE_FOR_OWN_TEAM
+	}
+
+	public enum CollisionRule {
+		ALWAYS, NEVER, PUSH_OTHER_TEAMS, PUSH_OWN_TEAM
+	}
+
+}
@@ -0,0 +1,12 @@
+package net.minecraft.world.scores.criteria;
+
+/**
+ * Benchmark stub holding the objective render types.
+ */
+public class ObjectiveCriteria {
+
+	public enum RenderType {
+		INTEGER, HEARTS
+	}
+
+}
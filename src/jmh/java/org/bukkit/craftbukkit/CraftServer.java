@@ -0,0 +1,85 @@
+package org.bukkit.craftbukkit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark stub of the server, installed as the Bukkit server so the board classes
+ * resolve the CraftBukkit package from it like on a 1.20.5+ Paper server.
+ * The server is a proxy of a package-private interface so its class lives in this package.
+ */
+public final class CraftServer {
+
+	private static final Logger LOGGER = Logger.getLogger("StubServer");
+	private static volatile Server server;
+
+	private CraftServer() {
+	}
+
+	public static synchronized Server install() {
+		if (server != null) {
+			return server;
+		}
+
+		Server stub = (Server) Proxy.newProxyInstance(CraftServer.class.getClassLoader(),
+				new Class<?>[] {StubServer.class}, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getLogger":
+							return LOGGER;
+						case "getName":
+							return "StubServer";
+						case "getVersion":
+						case "getBukkitVersion":
+							return "1.20.6-R0.1-SNAPSHOT";
+						case "isPrimaryThread":
+							return true;
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return "StubServer";
+						default:
+							return defaultValue(method.getReturnType());
+					}
+				});
+		Bukkit.setServer(stub);
+		server = stub;
+		return stub;
+	}
+
+	static Object defaultValue(Class<?> type) {
+		if (!type.isPrimitive() || type == void.class) {
+			return null;
+		}
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == char.class) {
+			return '\0';
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		if (type == float.class) {
+			return 0F;
+		}
+		if (type == double.class) {
+			return 0D;
+		}
+		if (type == byte.class) {
+			return (byte) 0;
+		}
+		if (type == short.class) {
+			return (short) 0;
+		}
+		return 0;
+	}
+
+}
+
+interface StubServer extends Server {
+}
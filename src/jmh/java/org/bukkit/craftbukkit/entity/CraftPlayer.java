@@ -0,0 +1,43 @@
+package org.bukkit.craftbukkit.entity;
+
+import net.minecraft.server.level.ServerPlayer;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+/**
+ * Benchmark stub of the CraftBukkit player, an interface so players can be created as proxies
+ * without implementing the whole Bukkit player.
+ */
+public interface CraftPlayer extends Player {
+
+	ServerPlayer getHandle();
+
+	static CraftPlayer create(String name) {
+		ServerPlayer handle = new ServerPlayer();
+		UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes());
+		return (CraftPlayer) Proxy.newProxyInstance(CraftPlayer.class.getClassLoader(),
+				new Class<?>[] {CraftPlayer.class}, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getHandle":
+							return handle;
+						case "getUniqueId":
+							return uuid;
+						case "getName":
+							return name;
+						case "isOnline":
+							return true;
+						case "hashCode":
+							return uuid.hashCode();
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return "CraftPlayer{" + name + '}';
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+}
@@ -0,0 +1,17 @@
+package org.bukkit.craftbukkit.util;
+
+import net.minecraft.network.chat.Component;
+
+/**
+ * Benchmark stub of the legacy text conversion, the text isn't parsed.
+ */
+public final class CraftChatMessage {
+
+	private CraftChatMessage() {
+	}
+
+	public static Component[] fromString(String message) {
+		return new Component[] {Component.literal(message)};
+	}
+
+}
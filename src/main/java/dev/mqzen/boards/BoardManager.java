@@ -1,10 +1,21 @@
 package dev.mqzen.boards;
 
+import dev.mqzen.boards.animation.core.AnimationRegistry;
+import dev.mqzen.boards.base.AsyncBoardAdapter;
 import dev.mqzen.boards.base.BoardAdapter;
 import dev.mqzen.boards.base.BoardBase;
 import dev.mqzen.boards.base.BoardUpdate;
+import dev.mqzen.boards.base.PacketBudget;
+import dev.mqzen.boards.base.RenderMode;
+import dev.mqzen.boards.base.SharedBody;
 import dev.mqzen.boards.base.impl.LegacyBoard;
 import dev.mqzen.boards.base.impl.AdventureBoard;
+import dev.mqzen.boards.metrics.BoardMetrics;
+import dev.mqzen.boards.scheduler.AdaptiveRate;
+import dev.mqzen.boards.scheduler.BoardScheduler;
+import dev.mqzen.boards.scheduler.FixedIntervalScheduler;
+import dev.mqzen.boards.scheduler.TimeBudgetedScheduler;
+import dev.mqzen.boards.util.ConcurrentUUIDMap;
 import dev.mqzen.boards.util.FastReflection;
 import lombok.Getter;
 import org.bukkit.Bukkit;
@@ -13,9 +24,14 @@ import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
@@ -29,7 +45,10 @@ public final class BoardManager {
 
 	private final @NonNull Plugin plugin;
 	private @Nullable Integer updateTaskId = null;
-	private final @NonNull Map<UUID, BoardBase<?>> boards = new HashMap<>();
+	// the board each player views, a shared board is stored for each of its viewers
+	private final @NonNull ConcurrentUUIDMap<BoardBase<?>> boards = new ConcurrentUUIDMap<>();
+	// every registered board once, to visit the boards
+	private final @NonNull Set<BoardBase<?>> registered = Collections.newSetFromMap(new ConcurrentHashMap<>());
 	public static final boolean ADVENTURE_SUPPORT;
 	private final @Getter Logger logger = Logger.getLogger(this.getClass().getSimpleName());
 
@@ -40,6 +59,14 @@ public final class BoardManager {
 	}
 
 	private @Getter long updateInterval = 3L; // in ticks
+	private @Getter @NonNull BoardScheduler scheduler = new FixedIntervalScheduler();
+	private volatile @Getter @Nullable AdaptiveRate adaptiveRate = null;
+	private final @NonNull ConcurrentUUIDMap<PacketBudget> budgets = new ConcurrentUUIDMap<>();
+	private int budgetPackets = 0; // per second, 0 if the traffic isn't capped
+	private volatile @Getter @NonNull RenderMode renderMode = RenderMode.TEAMS;
+	private long budgetBytes = 0L;
+	private long currentTick = 0;
+	private final @NonNull Queue<BoardBase<?>> dirtyBoards = new ConcurrentLinkedQueue<>();
 	private BoardManager(@NonNull Plugin plugin) {
 		this.plugin = plugin;
 	}
@@ -81,13 +108,124 @@ public final class BoardManager {
 	 * @param interval the interval in ticks
 	 */
 	public void setUpdateInterval(long interval) {
-		if(updateTaskId == null) {
-			this.updateInterval = interval;
-			return;
-		}
-		Bukkit.getScheduler().cancelTask(updateTaskId);
+		if(interval < 1)
+			throw new IllegalArgumentException("The update interval must be at least 1 tick");
 		this.updateInterval = interval;
-		this.startBoardUpdaters();
+	}
+
+	/**
+	 * Lets the update rate follow the load of the server,
+	 * the animations then the boards are updated less often while the MSPT is above the budget of the rate
+	 *
+	 * @param adaptiveRate the adaptive rate, or null to always update at the configured interval
+	 */
+	public void setAdaptiveRate(@Nullable AdaptiveRate adaptiveRate) {
+		this.adaptiveRate = adaptiveRate;
+	}
+
+	/**
+	 * @return the interval the boards are currently updated at, in ticks
+	 * @see #setAdaptiveRate(AdaptiveRate)
+	 */
+	public long getEffectiveInterval() {
+		AdaptiveRate rate = adaptiveRate;
+		return rate == null ? updateInterval : rate.boardInterval(updateInterval);
+	}
+
+	/**
+	 * @return the interval the animations currently move to their next frame at, in ticks
+	 * @see #setAdaptiveRate(AdaptiveRate)
+	 */
+	public long getAnimationInterval() {
+		AdaptiveRate rate = adaptiveRate;
+		return rate == null ? updateInterval : rate.animationInterval(updateInterval);
+	}
+
+	/**
+	 * Caps the scoreboard traffic of every player, the lines of their board are then sent
+	 * by priority, the deferred lines are sent on the next ticks and the animated lines are skipped
+	 * while the budget is spent
+	 *
+	 * @param packetsPerSecond the packets a player can receive per second
+	 * @param bytesPerSecond the estimated bytes a player can receive per second
+	 * @see dev.mqzen.boards.entity.LinePriority
+	 */
+	public synchronized void setPacketBudget(int packetsPerSecond, long bytesPerSecond) {
+		PacketBudget validated = new PacketBudget(packetsPerSecond, bytesPerSecond);
+		this.budgetPackets = validated.getPacketsPerSecond();
+		this.budgetBytes = validated.getBytesPerSecond();
+		budgets.clear();
+		registered.forEach(this::assignBudget);
+	}
+
+	/**
+	 * Stops capping the scoreboard traffic of the players
+	 */
+	public synchronized void clearPacketBudget() {
+		this.budgetPackets = 0;
+		this.budgetBytes = 0L;
+		budgets.clear();
+		registered.forEach((board) -> board.setBudget(null));
+	}
+
+	/**
+	 * Sets how the lines of the new boards are displayed,
+	 * the boards fall back to teams on servers below 1.20.3
+	 *
+	 * @param renderMode the render mode
+	 * @see BoardBase#setRenderMode(RenderMode)
+	 */
+	public void setRenderMode(@NonNull RenderMode renderMode) {
+		this.renderMode = renderMode;
+	}
+
+	/**
+	 * Fetches the budget of a player
+	 *
+	 * @param player the player
+	 * @return the budget, or null if the traffic isn't capped or the player has no board
+	 */
+	public @Nullable PacketBudget getBudget(@NonNull Player player) {
+		return budgets.get(player.getUniqueId());
+	}
+
+	private void assignBudget(BoardBase<?> board) {
+		if(budgetPackets == 0) return;
+		UUID owner = board.getPlayer().getUniqueId();
+		PacketBudget budget = budgets.get(owner);
+		if(budget == null) {
+			budget = new PacketBudget(budgetPackets, budgetBytes);
+			budgets.put(owner, budget);
+		}
+		board.setBudget(budget);
+	}
+
+	/**
+	 * Sets the scheduler deciding which boards are updated on each tick,
+	 * the boards already registered are moved to the new scheduler.
+	 * By default, every board is updated on the same tick.
+	 *
+	 * @param scheduler the new scheduler
+	 * @see dev.mqzen.boards.scheduler.ShardedScheduler
+	 */
+	public synchronized void setScheduler(@NonNull BoardScheduler scheduler) {
+		for(BoardBase<?> board : registered) {
+			this.scheduler.unregister(board);
+			if(!board.isReactive()) {
+				scheduler.register(board);
+			}
+		}
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Fetches the metrics of the board updates,
+	 * which are only recorded once enabled with {@link BoardMetrics#setEnabled(boolean)}
+	 *
+	 * @return the metrics
+	 */
+	public @NonNull BoardMetrics getMetrics() {
+		return BoardMetrics.get();
 	}
 
 	/**
@@ -105,12 +243,71 @@ public final class BoardManager {
 	}
 
 	/**
-	 * Registers a board for a player's uuid
-	 * @param uuid the uuid of the player to register the board for.
-	 * @param mBoard the board to be registered for that uuid
+	 * Visits the registered boards, safe to call from any thread
+	 * while boards are being created or removed.
+	 * A board shared with several viewers is visited once.
+	 *
+	 * @param action the action to run for each board
+	 */
+	public void forEachBoard(@NonNull Consumer<BoardBase<?>> action) {
+		registered.forEach(action);
+	}
+
+	/**
+	 * @return the number of registered boards, a board shared with several viewers is counted once
 	 */
-	private void registerBoard(UUID uuid, BoardBase<?> mBoard) {
-		boards.put(uuid, mBoard);
+	public int getBoardCount() {
+		return registered.size();
+	}
+
+	/**
+	 * Registers a board for a player
+	 * @param player the player to register the board for.
+	 * @param mBoard the board to be registered for that player
+	 */
+	private synchronized void registerBoard(Player player, BoardBase<?> mBoard) {
+		BoardBase<?> previous = boards.put(player.getUniqueId(), mBoard);
+		if(previous != null && previous != mBoard && detach(previous, player)) {
+			registered.remove(previous);
+		}
+		registered.add(mBoard);
+		mBoard.setDirtyListener(dirtyBoards::offer);
+		assignBudget(mBoard);
+		track(mBoard);
+	}
+
+	/**
+	 * Stops tracking a board that's no longer registered for a player,
+	 * a board shared with other viewers keeps being updated for them
+	 *
+	 * @param board the board
+	 * @param viewer the player who left the board
+	 * @return true if the board has no viewer left
+	 */
+	private boolean detach(BoardBase<?> board, @NonNull Player viewer) {
+		if(board.getViewerCount() > 1 && board.isViewing(viewer)) {
+			board.removeViewer(viewer);
+			// the board may have been handed to another owner, whose budget is refilled on every tick
+			assignBudget(board);
+			return false;
+		}
+		scheduler.unregister(board);
+		board.setDirtyListener(null);
+		return true;
+	}
+
+	/**
+	 * Reactive boards are only rendered when they're dirty,
+	 * the other boards are polled by the scheduler
+	 *
+	 * @param board the registered board
+	 */
+	private void track(BoardBase<?> board) {
+		if(board.isReactive()) {
+			scheduler.unregister(board);
+		}else {
+			scheduler.register(board);
+		}
 	}
 
 	/**
@@ -120,24 +317,65 @@ public final class BoardManager {
 	 *
 	 * @param player the player to have the new board created and registered
 	 * @param adapter the info carrier of the board
+	 * @return the new board, which can be shown to more players with {@link #addViewer(BoardBase, Player)}
 	 */
-	public void setupNewBoard(Player player, BoardAdapter adapter) {
-		BoardBase<?> board = ADVENTURE_SUPPORT ? new AdventureBoard(player, adapter) : new LegacyBoard(player, adapter);
-		registerBoard(player.getUniqueId(), board);
+	public BoardBase<?> setupNewBoard(Player player, BoardAdapter adapter) {
+		// the mode is set before the first render, so the lines aren't created as teams first
+		RenderMode mode = renderMode == RenderMode.SCORE_DISPLAY_NAMES && !BoardBase.customScoresAvailable()
+				? RenderMode.TEAMS : renderMode;
+		BoardBase<?> board = ADVENTURE_SUPPORT ? new AdventureBoard(player, adapter, mode) : new LegacyBoard(player, adapter, mode);
+		registerBoard(player, board);
+		return board;
+	}
+
+	/**
+	 * Shows an existing board to another player, e.g: all the players of a team or a lobby.
+	 * The board is rendered once per update for all of its viewers,
+	 * and its adapter is called for the first viewer (the owner) only.
+	 * The previous board of the player is removed.
+	 *
+	 * @param board a registered board
+	 * @param player the player to show the board to
+	 */
+	public void addViewer(@NonNull BoardBase<?> board, @NonNull Player player) {
+		BoardBase<?> previous = getBoard(player.getUniqueId());
+		if(previous == board) return;
+		if(previous != null) {
+			removeBoard(player);
+		}
+
+		synchronized (this) {
+			board.addViewer(player);
+			boards.put(player.getUniqueId(), board);
+		}
 	}
 
 	/**
 	 * This deletes the board created for the player
-	 * and unregister it from memory
+	 * and unregister it from memory.
+	 * If the board is shared with other viewers, the player stops viewing it
+	 * and the board stays for the other viewers
 	 *
 	 * @param player the owner of a board.
 	 */
 	public void removeBoard(@NonNull Player player) {
-		BoardBase<?> board = getBoard(player.getUniqueId());
+		BoardBase<?> board;
+		synchronized (this) {
+			board = boards.remove(player.getUniqueId());
+			budgets.remove(player.getUniqueId());
+			if(board != null && board.getAdapter() instanceof AsyncBoardAdapter) {
+				((AsyncBoardAdapter) board.getAdapter()).forget(player);
+			}
+			if(board != null && !detach(board, player)) {
+				board = null;
+			}
+			if(board != null) {
+				registered.remove(board);
+			}
+		}
 		if(board != null) {
 			board.delete();
 		}
-		boards.remove(player.getUniqueId());
 	}
 
 	/**
@@ -147,18 +385,142 @@ public final class BoardManager {
 	 * @see BoardManager#setUpdateInterval(long)
 	 */
 	public void startBoardUpdaters() {
+		if(updateTaskId != null)
+			Bukkit.getScheduler().cancelTask(updateTaskId);
+
 		updateTaskId = Bukkit.getScheduler().runTaskTimer(plugin, ()-> {
-			for(BoardBase<?> board : boards.values()) {
-				if(board.isDeleted())continue;
-				BoardUpdate update = board.getUpdate();
-				if(update == null) continue;
+			boolean metrics = BoardMetrics.isEnabled();
+			long start = metrics ? System.nanoTime() : 0L;
+			long tick = currentTick++;
+			AdaptiveRate rate = adaptiveRate;
+			if(rate != null) {
+				rate.sample();
+			}
+			long interval = getEffectiveInterval();
+			long animationInterval = getAnimationInterval();
+			if(tick % animationInterval == 0) {
+				AnimationRegistry.tick();
+			}
+			if(tick % interval == 0) {
+				SharedBody.nextInterval();
+			}
+			// every board is updated once per interval, so exactly one of its updates
+			// follows each move of the animations, the others only refresh the data lines
+			boolean animate = tick % animationInterval < interval;
+			budgets.forEach(PacketBudget::refill);
+			scheduler.tick(tick, interval, animate, animate ? this::updateBoard : this::updateBoardData);
+			flushDirtyBoards();
+			flushPendingLines();
+			if(metrics) {
+				BoardMetrics.get().recordTick(System.nanoTime() - start);
+			}
+		}, 1L, 1L).getTaskId();
+	}
+
+	/**
+	 * Start the task of the board updates with a time budget per tick,
+	 * the boards left when the budget is spent are updated on the next ticks
+	 *
+	 * @param budget the time that can be spent updating boards on each tick, e.g: 2ms
+	 * @see TimeBudgetedScheduler
+	 */
+	public void startBoardUpdaters(@NonNull Duration budget) {
+		setScheduler(new TimeBudgetedScheduler(budget));
+		startBoardUpdaters();
+	}
+
+	/**
+	 * Renders the changes of the boards whose body changed since the last tick,
+	 * only the boards in the dirty queue are visited
+	 */
+	private void flushDirtyBoards() {
+		BoardBase<?> board;
+		while((board = dirtyBoards.poll()) != null) {
+			if(board.isDeleted()) continue;
+			try {
+				board.beginFrame();
 				try {
-					update.update(board);
-				}catch (Exception ex) {
-					ex.printStackTrace();
+					board.flushDirty();
+				} finally {
+					board.endFrame();
+				}
+				recordUpdate(board);
+			}catch (Exception ex) {
+				ex.printStackTrace();
+			}
+
+			synchronized (this) {
+				if(boards.get(board.getPlayer().getUniqueId()) == board) {
+					track(board);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sends the lines deferred because the budget of a player was spent,
+	 * and the lines the lagging viewers missed once their connection drained
+	 *
+	 * @see BoardBase#setBudget(PacketBudget)
+	 * @see BoardBase#setBackpressureEnabled(boolean)
+	 */
+	private void flushPendingLines() {
+		registered.forEach((board) -> {
+			if(board.isDeleted()) return;
+			try {
+				if(board.hasDeferredLines()) {
+					board.beginFrame();
+					try {
+						board.flushDeferred();
+					} finally {
+						board.endFrame();
+					}
+				}
+				if(board.hasLaggingViewers()) {
+					board.flushLaggingViewers();
 				}
+			}catch (Exception ex) {
+				ex.printStackTrace();
 			}
-		}, 1L, updateInterval).getTaskId();
+		});
+	}
+
+	private void updateBoard(BoardBase<?> board) {
+		if(board.isDeleted()) return;
+		BoardUpdate update = board.getUpdate();
+		if(update == null) return;
+		try {
+			board.beginFrame();
+			try {
+				update.update(board);
+			} finally {
+				board.endFrame();
+			}
+			recordUpdate(board);
+		}catch (Exception ex) {
+			ex.printStackTrace();
+		}
+	}
+
+	private void updateBoardData(BoardBase<?> board) {
+		if(board.isDeleted()) return;
+		try {
+			board.beginFrame();
+			try {
+				board.refreshData();
+			} finally {
+				board.endFrame();
+			}
+			recordUpdate(board);
+		}catch (Exception ex) {
+			ex.printStackTrace();
+		}
+	}
+
+	private static void recordUpdate(BoardBase<?> board) {
+		if(BoardMetrics.isEnabled()) {
+			BoardMetrics.get().recordUpdate(board.getLastFrameSize());
+		}
 	}
 
 	/**
@@ -171,6 +533,7 @@ public final class BoardManager {
 	public void stopBoardUpdaters() {
 		if(updateTaskId != null)
 			Bukkit.getScheduler().cancelTask(updateTaskId);
+		updateTaskId = null;
 	}
 
 
@@ -2,50 +2,59 @@ package dev.mqzen.boards.animation;
 
 import org.bukkit.ChatColor;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import java.util.ArrayList;
+
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public final class HighLighter {
 
-	private final StringBuilder text;
 	private final String primaryColor, secondaryColor;
-	private final List<String> highLighted = new ArrayList<>();
+	// every frame of the cycle, computed once
+	private final String[] frames;
+	private final List<String> highLighted;
 	private int position;
-	private final int limit;
 
 	private HighLighter(String text, String primaryColor, String secondaryColor) {
-
-		this.text = new StringBuilder(text);
 		this.primaryColor = ChatColor.translateAlternateColorCodes('&', primaryColor);
 		this.secondaryColor = ChatColor.translateAlternateColorCodes('&', secondaryColor);
-		this.limit = text.length();
+		this.frames = text.isEmpty() ? new String[] {""} : computeFrames(text);
+		this.highLighted = Collections.unmodifiableList(Arrays.asList(frames));
 	}
 
 	private HighLighter(String text, ChatColor primary, ChatColor secondary) {
 		this(text, primary.toString(), secondary.toString());
 	}
 
-	public String nextResult() {
-		StringBuilder builder = new StringBuilder();
-
-		if (position >= limit) {
-			position = 0;
+	private String[] computeFrames(String text) {
+		int limit = text.length();
+		String[] frames = new String[limit];
+
+		for (int position = 0; position < limit; position++) {
+			StringBuilder builder = new StringBuilder(limit + primaryColor.length() * 2 + secondaryColor.length());
+			if (position > 0) {
+				builder.append(primaryColor).append(text, 0, position);
+			}
+			builder.append(secondaryColor).append(text.charAt(position));
+
+			if (position < limit-1) {
+				builder.append(primaryColor).append(text, position+1, limit);
+			}
+			frames[position] = builder.toString();
 		}
+		return frames;
+	}
 
-		if (position > 0) {
-			builder.append(primaryColor).append(text.substring(0, position));
-		}
-		String secondaryTarget = text.substring(position, position + 1);
-		builder.append(secondaryColor).append(secondaryTarget);
-
-		if (position < limit-1) {
-			builder.append(primaryColor).append(text.substring(position+1));
+	public String nextResult() {
+		if (position >= frames.length) {
+			position = 0;
 		}
-
-		position++;
-		return builder.toString();
+		return frames[position++];
 	}
 
+	/**
+	 * @return every frame of the highlighting cycle, in order
+	 */
 	public @NonNull List<String> getHighLighted() {
 		return highLighted;
 	}
@@ -59,7 +68,7 @@ public final class HighLighter {
 	}
 
 	public String getHighLighted(int index) {
-		return this.highLighted.get(index);
+		return this.frames[index];
 	}
 
-}
\ No newline at end of file
+}
@@ -8,23 +8,18 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 public final class ScrollAnimation extends Animation<String> {
 	private final @NonNull Scroller scroller;
 
-	private ScrollAnimation(String original, int width, int spaceBetween) {
-		super(original, ChangesSequence.of());
-		this.scroller = Scroller.of(ChatColor.translateAlternateColorCodes('&', original), width, spaceBetween);
+	private ScrollAnimation(String original, @NonNull Scroller scroller) {
+		// the frames are computed once by the scroller, fetching a change only moves the index
+		super(original, ChangesSequence.of(scroller.getFrames()));
+		this.scroller = scroller;
 	}
 
 	public static ScrollAnimation of(String msg, int width, int spaceBetween) {
-		return new ScrollAnimation(msg, width, spaceBetween);
+		return new ScrollAnimation(msg, Scroller.of(ChatColor.translateAlternateColorCodes('&', msg), width, spaceBetween));
 	}
 
-	@Override
-	public String fetchNextChange() {
-		return scroller.next();
-	}
-
-	@Override
-	public String fetchPreviousChange() {
-		return scroller.next();
+	public @NonNull Scroller getScroller() {
+		return scroller;
 	}
 
 }
@@ -3,14 +3,14 @@ package dev.mqzen.boards.animation;
 import org.bukkit.ChatColor;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 public final class Scroller {
 
 	private int position;
 	private final List<String> list;
-	private ChatColor color = ChatColor.RESET;
+	// every frame of the cycle, computed once
+	private final String[] frames;
 
 	private Scroller(String message, int width, int spaceBetween) {
 		message = ChatColor.translateAlternateColorCodes('&', message);
@@ -49,38 +49,64 @@ public final class Scroller {
 				break;
 			list.add(space.substring(0, space.length() - i) + message.substring(0, width - (Math.min(spaceBetween, width)) + i));
 		}
+		frames = computeFrames();
 	}
 
 	public static @NonNull Scroller of(String message, int width, int spaceBetween) {
 		return new Scroller(message, width, spaceBetween);
 	}
 
+	/**
+	 * Runs the scrolling once until it repeats itself,
+	 * the color carried from a frame to the next one is part of the state,
+	 * so the cycle may start after a few frames that are never shown again.
+	 */
+	private String[] computeFrames() {
+		List<String> frames = new ArrayList<>();
+		Map<Long, Integer> seenStates = new HashMap<>();
+		int cursor = 0;
+		ChatColor color = ChatColor.RESET;
+
+		while (true) {
+			Integer cycleStart = seenStates.putIfAbsent(((long) color.ordinal() << 32) | cursor, frames.size());
+			if (cycleStart != null) {
+				return frames.subList(cycleStart, frames.size()).toArray(new String[0]);
+			}
 
-	public String next() {
-		StringBuilder sb = getNext();
-		if (sb.charAt(sb.length() - 1) == ChatColor.COLOR_CHAR) {
-			sb.setCharAt(sb.length() - 1, ' ');
-		}
-		if (sb.charAt(0) == ChatColor.COLOR_CHAR) {
-			ChatColor c = ChatColor.getByChar(sb.charAt(1));
-			if (c != null) {
-				color = c;
-
-				sb = getNext();
-				if (sb.charAt(0) != ' ') {
-					sb.setCharAt(0, ' ');
-				}
+			StringBuilder sb = new StringBuilder(list.get(cursor));
+			cursor = (cursor + 1) % list.size();
+			if (sb.length() > 0 && sb.charAt(sb.length() - 1) == ChatColor.COLOR_CHAR) {
+				sb.setCharAt(sb.length() - 1, ' ');
 			}
+			if (sb.length() > 1 && sb.charAt(0) == ChatColor.COLOR_CHAR) {
+				ChatColor c = ChatColor.getByChar(sb.charAt(1));
+				if (c != null) {
+					color = c;
+
+					sb = new StringBuilder(list.get(cursor));
+					cursor = (cursor + 1) % list.size();
+					if (sb.length() > 0 && sb.charAt(0) != ' ') {
+						sb.setCharAt(0, ' ');
+					}
+				}
 
+			}
+			frames.add(color + sb.toString());
 		}
-		return color + sb.toString();
 	}
 
-	private StringBuilder getNext() {
-		return new StringBuilder(list.get(position++ % list.size()));
+	public String next() {
+		if (position >= frames.length) {
+			position = 0;
+		}
+		return frames[position++];
 	}
 
+	/**
+	 * @return every frame of the scrolling cycle, in order
+	 */
+	public @NonNull List<String> getFrames() {
+		return Collections.unmodifiableList(Arrays.asList(frames));
+	}
 
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package dev.mqzen.boards.animation.core;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the animations shared between boards and the global tick they are advanced on.
+ * The tick is advanced by the board updater of the BoardManager,
+ * so a shared animation produces one frame per update for all the players viewing it.
+ *
+ * @see SharedAnimation
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class AnimationRegistry {
+
+	private static final Map<String, SharedAnimation<?>> ANIMATIONS = new ConcurrentHashMap<>();
+	private static volatile long tick = 0;
+
+	private AnimationRegistry() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Registers an animation to be shared by every board using it,
+	 * replacing any animation registered with the same id
+	 *
+	 * @param id the id of the animation
+	 * @param animation the animation to share
+	 * @return the shared animation to set on the lines or titles
+	 * @param <T> the type of the animation
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> @NonNull SharedAnimation<T> register(@NonNull String id, @NonNull Animation<T> animation) {
+		SharedAnimation<T> shared = animation instanceof SharedAnimation
+						? (SharedAnimation<T>) animation : new SharedAnimation<>(id, animation);
+		unregister(id);
+		ANIMATIONS.put(id, shared);
+		return shared;
+	}
+
+	/**
+	 * Fetches the shared animation registered with an id,
+	 * creating and registering it if absent
+	 *
+	 * @param id the id of the animation
+	 * @param animation creates the animation if it's not registered yet
+	 * @return the shared animation
+	 * @param <T> the type of the animation
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> @NonNull SharedAnimation<T> shared(@NonNull String id, @NonNull Supplier<Animation<T>> animation) {
+		return (SharedAnimation<T>) ANIMATIONS.computeIfAbsent(id, key -> new SharedAnimation<>(key, animation.get()));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> Optional<SharedAnimation<T>> get(@NonNull String id) {
+		return Optional.ofNullable((SharedAnimation<T>) ANIMATIONS.get(id));
+	}
+
+	public static void unregister(@NonNull String id) {
+		ANIMATIONS.remove(id);
+	}
+
+	/**
+	 * Advances the global tick, every shared animation
+	 * will move to its next frame the next time it's fetched
+	 */
+	public static void tick() {
+		tick++;
+	}
+
+	public static long currentTick() {
+		return tick;
+	}
+
+}
@@ -26,15 +26,16 @@ import java.util.*;
  */
 public class ChangesSequence<T> implements Iterable<T> {
 
-	private final List<T> changes = new ArrayList<>();
+	// replaced, never modified, when a change is added
+	private volatile Object[] changes;
 
 	@SafeVarargs
 	ChangesSequence(T... changes) {
-		this.changes.addAll(Arrays.asList(changes));
+		this.changes = Arrays.copyOf(changes, changes.length, Object[].class);
 	}
 
 	ChangesSequence(Collection<T> changes) {
-		this.changes.addAll(changes);
+		this.changes = changes.toArray();
 	}
 
 	@SafeVarargs
@@ -48,23 +49,28 @@ public class ChangesSequence<T> implements Iterable<T> {
 
 	@NonNull
 	@Override
+	@SuppressWarnings("unchecked")
 	public Iterator<T> iterator() {
-		return changes.iterator();
+		return (Iterator<T>) Arrays.asList(changes).iterator();
 	}
 
+	@SuppressWarnings("unchecked")
 	public @Nullable T getChange(int index) {
-		if(index >= changes.size() || index < 0) {
+		Object[] changes = this.changes;
+		if(index >= changes.length || index < 0) {
 			return null;
 		}
-		return changes.get(index);
+		return (T) changes[index];
 	}
 
-	public void add(T change) {
-		changes.add(change);
+	public synchronized void add(T change) {
+		Object[] changes = Arrays.copyOf(this.changes, this.changes.length + 1);
+		changes[changes.length - 1] = change;
+		this.changes = changes;
 	}
 
 	int length() {
-		return changes.size();
+		return changes.length;
 	}
 
 }
@@ -0,0 +1,110 @@
+package dev.mqzen.boards.animation.core;
+
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Objects;
+
+/**
+ * An animation shared by every board displaying it,
+ * it's advanced at most once per global tick of the {@link AnimationRegistry}
+ * no matter how many boards fetch its next change during that tick,
+ * and the Minecraft component of its current frame is converted only once for all of them.
+ *
+ * @see AnimationRegistry#register(String, Animation)
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ * @param <T> the object type that's going be changed through
+ *           a sequence of changes
+ */
+public final class SharedAnimation<T> extends Animation<T> {
+
+	private final @Getter @NonNull String id;
+	private final @Getter @NonNull Animation<T> delegate;
+	private long frameTick = -1;
+	private T frame;
+	// incremented on every new frame, identifies the frame the boards rendered
+	private long revision = 0;
+	// the line the component was converted from, boards may display the same frame differently
+	private Object frameValue;
+	private Object frameComponent;
+
+	SharedAnimation(@NonNull String id, @NonNull Animation<T> delegate) {
+		super(delegate.getOriginal());
+		this.id = id;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public synchronized T fetchNextChange() {
+		long tick = AnimationRegistry.currentTick();
+		if (tick != frameTick) {
+			setFrame(delegate.fetchNextChange());
+			frameTick = tick;
+		}
+		return frame;
+	}
+
+	@Override
+	public synchronized T fetchPreviousChange() {
+		setFrame(delegate.fetchPreviousChange());
+		frameTick = AnimationRegistry.currentTick();
+		return frame;
+	}
+
+	@Override
+	public int current() {
+		return delegate.current();
+	}
+
+	/**
+	 * Get the revision of the current frame, read by the boards after fetching the next change
+	 * to remember which frame their line was rendered from
+	 *
+	 * @return the revision of the current frame
+	 */
+	public synchronized long getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Get the Minecraft component of a line rendered from a frame of this animation,
+	 * the component of the current frame is converted once and reused by every board displaying the same line.
+	 * The line is the frame as displayed by the board, which may be a transformation of it
+	 * (e.g: legacy text deserialized to a component), so it's converted again when it differs
+	 * from the line the cached component was converted from.
+	 *
+	 * @param revision the revision of the frame the line was rendered from
+	 * @param value the line to convert
+	 * @param converter the conversion of the board asking for it
+	 * @return the converted component
+	 * @throws Throwable if the conversion fails
+	 */
+	public synchronized Object frameComponent(long revision, Object value, FrameConverter converter) throws Throwable {
+		if (revision != this.revision) {
+			return converter.convert(value);
+		}
+
+		if (frameComponent == null || !Objects.equals(frameValue, value)) {
+			frameComponent = converter.convert(value);
+			frameValue = value;
+		}
+		return frameComponent;
+	}
+
+	private void setFrame(T next) {
+		if (next == frame) {
+			return;
+		}
+		frame = next;
+		revision++;
+		frameValue = null;
+		frameComponent = null;
+	}
+
+	@FunctionalInterface
+	public interface FrameConverter {
+		Object convert(Object frame) throws Throwable;
+	}
+
+}
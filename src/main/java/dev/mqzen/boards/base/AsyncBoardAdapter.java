@@ -0,0 +1,210 @@
+package dev.mqzen.boards.base;
+
+import dev.mqzen.boards.entity.Body;
+import dev.mqzen.boards.entity.Line;
+import dev.mqzen.boards.entity.Title;
+import dev.mqzen.boards.util.ConcurrentUUIDMap;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the title and the body of another adapter off the main thread,
+ * for adapters whose data may have to be loaded, e.g: stats cached from a database.
+ * <p>
+ * Every update renders the last title and body loaded for the player right away
+ * and starts loading fresh ones if none is being loaded already (stale-while-revalidate),
+ * the fresh values are rendered by the next update, on the main thread.
+ * Until the first values are loaded, the loading title and body are rendered.
+ * A load taking longer than the timeout is reported, and no other load is started for the same value
+ * until it returns, so a source that hangs holds at most one thread per value and player.
+ * <p>
+ * The lines of the loaded bodies are still fetched on the main thread,
+ * so their animations keep moving at the rate of the updates.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class AsyncBoardAdapter implements BoardAdapter {
+
+	private static final Logger LOGGER = Logger.getLogger(AsyncBoardAdapter.class.getSimpleName());
+	private static volatile Executor defaultExecutor;
+
+	private final @Getter @NonNull BoardAdapter delegate;
+	private final @NonNull Title<?> loadingTitle;
+	private final @NonNull Body<?> loadingBody;
+	private final @NonNull Executor executor;
+	private final @Getter @NonNull Duration timeout;
+	private final ConcurrentUUIDMap<State> states = new ConcurrentUUIDMap<>();
+
+	/**
+	 * @param delegate the adapter loading the title and the body
+	 * @param loadingTitle the title rendered until the first title is loaded
+	 * @param loadingBody the body rendered until the first body is loaded
+	 * @param executor the executor the adapter is called on
+	 * @param timeout the time after which a load is reported as slow
+	 */
+	public AsyncBoardAdapter(@NonNull BoardAdapter delegate, @NonNull Title<?> loadingTitle,
+	                         @NonNull Body<?> loadingBody, @NonNull Executor executor, @NonNull Duration timeout) {
+		this.delegate = Objects.requireNonNull(delegate, "delegate");
+		this.loadingTitle = Objects.requireNonNull(loadingTitle, "loadingTitle");
+		this.loadingBody = Objects.requireNonNull(loadingBody, "loadingBody");
+		this.executor = Objects.requireNonNull(executor, "executor");
+		this.timeout = Objects.requireNonNull(timeout, "timeout");
+	}
+
+	/**
+	 * Creates an async adapter with an empty loading body, running on the {@link #defaultExecutor()}
+	 * and reporting the loads taking more than 5 seconds
+	 *
+	 * @param delegate the adapter loading the title and the body
+	 * @param loadingTitle the title rendered until the first title is loaded
+	 */
+	public AsyncBoardAdapter(@NonNull BoardAdapter delegate, @NonNull Title<?> loadingTitle) {
+		this(delegate, loadingTitle, EmptyBody.INSTANCE, defaultExecutor(), Duration.ofSeconds(5));
+	}
+
+	/**
+	 * The executor of the async adapters by default, made of virtual threads on Java 21+
+	 * and of a cached pool of daemon threads on older versions
+	 *
+	 * @return the default executor
+	 */
+	public static @NonNull Executor defaultExecutor() {
+		Executor executor = defaultExecutor;
+		if(executor == null) {
+			synchronized (AsyncBoardAdapter.class) {
+				executor = defaultExecutor;
+				if(executor == null) {
+					defaultExecutor = executor = createDefaultExecutor();
+				}
+			}
+		}
+		return executor;
+	}
+
+	private static Executor createDefaultExecutor() {
+		try {
+			return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException ignored) {
+			// before Java 21
+		}
+
+		AtomicInteger threads = new AtomicInteger();
+		return Executors.newCachedThreadPool((task) -> {
+			Thread thread = new Thread(task, "mBoard-async-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public @NonNull Title<?> title(Player player) {
+		return state(player).title.get(player, delegate::title, loadingTitle);
+	}
+
+	@Override
+	public @NonNull Body<?> getBody(Player player) {
+		return state(player).body.get(player, delegate::getBody, loadingBody);
+	}
+
+	@Override
+	public @Nullable BoardUpdate getBoardUpdate() {
+		return delegate.getBoardUpdate();
+	}
+
+	/**
+	 * Drops the values loaded for a player, called when the board of the player is removed
+	 *
+	 * @param player the player
+	 */
+	public void forget(@NonNull Player player) {
+		states.remove(player.getUniqueId());
+	}
+
+	private State state(Player player) {
+		State state = states.get(player.getUniqueId());
+		if(state == null) {
+			State created = new State();
+			synchronized (states) {
+				state = states.get(player.getUniqueId());
+				if(state == null) {
+					states.put(player.getUniqueId(), state = created);
+				}
+			}
+		}
+		return state;
+	}
+
+	private final class State {
+		private final Value<Title<?>> title = new Value<>();
+		private final Value<Body<?>> body = new Value<>();
+	}
+
+	private final class Value<V> {
+
+		private volatile V value;
+		private final AtomicBoolean loading = new AtomicBoolean();
+
+		private V get(Player player, Function<Player, V> loader, V fallback) {
+			if(loading.compareAndSet(false, true)) {
+				CompletableFuture<V> load = CompletableFuture.supplyAsync(() -> loader.apply(player), executor);
+				// the next load is only started once the adapter returned, even after the timeout
+				load.whenComplete((loaded, error) -> {
+					if(error == null && loaded != null) {
+						value = loaded;
+					}else if(error != null) {
+						LOGGER.log(Level.WARNING, "The adapter " + delegate.getClass().getName()
+										+ " failed for " + player.getName(), error);
+					}
+					loading.set(false);
+				});
+
+				// the timeout applies to a copy, so the load itself isn't completed by it
+				load.copy()
+								.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+								.whenComplete((loaded, error) -> {
+									if(error instanceof TimeoutException) {
+										LOGGER.warning("The adapter " + delegate.getClass().getName()
+														+ " took more than " + timeout.toMillis() + "ms for " + player.getName());
+									}
+								});
+			}
+
+			V current = value;
+			return current != null ? current : fallback;
+		}
+	}
+
+	private static final class EmptyBody implements Body<Object> {
+
+		private static final EmptyBody INSTANCE = new EmptyBody();
+
+		@Override
+		public void addLine(Object content) {
+			throw new UnsupportedOperationException("The loading body can't be modified");
+		}
+
+		@Override
+		public List<Line<Object>> getLines() {
+			return Collections.emptyList();
+		}
+	}
+
+}
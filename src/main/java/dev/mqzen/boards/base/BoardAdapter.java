@@ -46,7 +46,7 @@ public interface BoardAdapter {
 	 * @return the actions to be executed as an update to the board
 	 */
 	@Nullable default BoardUpdate getBoardUpdate() {
-		return BoardBase::update;
+		return BoardUpdate.DEFAULT;
 	}
 
 }
@@ -1,6 +1,18 @@
 package dev.mqzen.boards.base;
 
+import dev.mqzen.boards.animation.core.Animation;
+import dev.mqzen.boards.animation.core.SharedAnimation;
+import dev.mqzen.boards.entity.Body;
+import dev.mqzen.boards.entity.Line;
+import dev.mqzen.boards.entity.LinePriority;
+import dev.mqzen.boards.entity.ReactiveBody;
+import dev.mqzen.boards.entity.Title;
+import dev.mqzen.boards.metrics.BoardMetrics;
+import dev.mqzen.boards.metrics.PacketType;
 import dev.mqzen.boards.util.FastReflection;
+import dev.mqzen.boards.util.PacketFields;
+import dev.mqzen.boards.util.PacketSizeEstimator;
+import io.netty.channel.Channel;
 import lombok.Getter;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.entity.Player;
@@ -10,9 +22,12 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -21,40 +36,55 @@ import java.util.stream.Stream;
 
 public abstract class BoardBase<T> {
 
-    private static final Map<Class<?>, Field[]> PACKETS = new HashMap<>(8);
+    /**
+     * The index reported for the title by {@link #refresh(BitSet, boolean, RefreshVisitor)}.
+     */
+    public static final int TITLE_INDEX = -1;
     protected static final String[] COLOR_CODES = Arrays.stream(ChatColor.values())
             .map(Object::toString)
             .toArray(String[]::new);
-    private static final VersionType VERSION_TYPE;
+    static final VersionType VERSION_TYPE;
+    private static final PacketStrategy STRATEGY;
     // Packets and components
-    private static final Class<?> CHAT_COMPONENT_CLASS;
-    private static final Class<?> CHAT_FORMAT_ENUM;
-    private static final Object RESET_FORMATTING;
-    private static final MethodHandle PLAYER_CONNECTION;
-    private static final MethodHandle SEND_PACKET;
-    private static final MethodHandle PLAYER_GET_HANDLE;
-    private static final MethodHandle FIXED_NUMBER_FORMAT;
+    static final Class<?> CHAT_COMPONENT_CLASS;
+    static final Class<?> CHAT_FORMAT_ENUM;
+    static final Object RESET_FORMATTING;
+    static final MethodHandle PLAYER_CONNECTION;
+    static final MethodHandle SEND_PACKET;
+    static final MethodHandle PLAYER_GET_HANDLE;
+    static final MethodHandle CONNECTION_NETWORK_MANAGER;
+    static final MethodHandle NETWORK_MANAGER_CHANNEL;
+    static final MethodHandle FIXED_NUMBER_FORMAT;
     // Scoreboard packets
-    private static final FastReflection.PacketConstructor PACKET_SB_OBJ;
-    private static final FastReflection.PacketConstructor PACKET_SB_DISPLAY_OBJ;
-    private static final FastReflection.PacketConstructor PACKET_SB_TEAM;
-    private static final FastReflection.PacketConstructor PACKET_SB_SERIALIZABLE_TEAM;
-    private static final MethodHandle PACKET_SB_SET_SCORE;
-    private static final MethodHandle PACKET_SB_RESET_SCORE;
-    private static final boolean SCORE_OPTIONAL_COMPONENTS;
+    static final FastReflection.PacketConstructor PACKET_SB_OBJ;
+    static final FastReflection.PacketConstructor PACKET_SB_DISPLAY_OBJ;
+    static final FastReflection.PacketConstructor PACKET_SB_TEAM;
+    static final FastReflection.PacketConstructor PACKET_SB_SERIALIZABLE_TEAM;
+    static final MethodHandle PACKET_SB_SET_SCORE;
+    static final MethodHandle PACKET_SB_RESET_SCORE;
+    static final MethodHandle PACKET_BUNDLE;
+    // the type of each packet class, recorded while the metrics are enabled
+    private static final Map<Class<?>, PacketType> PACKET_TYPES = new ConcurrentHashMap<>();
+    // Precompiled field setters of the scoreboard packets
+    static final PacketFields SB_OBJ_FIELDS;
+    static final PacketFields SB_DISPLAY_OBJ_FIELDS;
+    static final PacketFields SB_SCORE_FIELDS;
+    static final PacketFields SB_TEAM_FIELDS;
+    static final PacketFields SB_SERIALIZABLE_TEAM_FIELDS;
+    static final boolean SCORE_OPTIONAL_COMPONENTS;
     // Scoreboard enums
-    private static final Class<?> DISPLAY_SLOT_TYPE;
-    private static final Class<?> ENUM_SB_HEALTH_DISPLAY;
-    private static final Class<?> ENUM_SB_ACTION;
-    private static final Class<?> ENUM_VISIBILITY;
-    private static final Class<?> ENUM_COLLISION_RULE;
-    private static final Object BLANK_NUMBER_FORMAT;
-    private static final Object SIDEBAR_DISPLAY_SLOT;
-    private static final Object ENUM_SB_HEALTH_DISPLAY_INTEGER;
-    private static final Object ENUM_SB_ACTION_CHANGE;
-    private static final Object ENUM_SB_ACTION_REMOVE;
-    private static final Object ENUM_VISIBILITY_ALWAYS;
-    private static final Object ENUM_COLLISION_RULE_ALWAYS;
+    static final Class<?> DISPLAY_SLOT_TYPE;
+    static final Class<?> ENUM_SB_HEALTH_DISPLAY;
+    static final Class<?> ENUM_SB_ACTION;
+    static final Class<?> ENUM_VISIBILITY;
+    static final Class<?> ENUM_COLLISION_RULE;
+    static final Object BLANK_NUMBER_FORMAT;
+    static final Object SIDEBAR_DISPLAY_SLOT;
+    static final Object ENUM_SB_HEALTH_DISPLAY_INTEGER;
+    static final Object ENUM_SB_ACTION_CHANGE;
+    static final Object ENUM_SB_ACTION_REMOVE;
+    static final Object ENUM_VISIBILITY_ALWAYS;
+    static final Object ENUM_COLLISION_RULE_ALWAYS;
 
     static {
         try {
@@ -101,6 +131,22 @@ public abstract class BoardBase<T> {
             PLAYER_GET_HANDLE = lookup.findVirtual(craftPlayerClass, "getHandle", MethodType.methodType(entityPlayerClass));
             PLAYER_CONNECTION = lookup.unreflectGetter(playerConnectionField);
             SEND_PACKET = lookup.unreflect(sendPacketMethod);
+
+            // The netty channel is optional, it's used to detect when the connection is closed,
+            // to check if it's writable for the backpressure and to write the packets of the PacketTransport.CHANNEL transport,
+            // without it the packets are always sent through the player connection
+            Optional<Class<?>> networkManagerClass = FastReflection.nmsOptionalClass("network", "NetworkManager");
+            if (!networkManagerClass.isPresent()) {
+                networkManagerClass = FastReflection.nmsOptionalClass("network", "Connection");
+            }
+            Optional<Class<?>> channelClass = FastReflection.optionalClass("io.netty.channel.Channel");
+            Optional<Field> networkManagerField = networkManagerClass
+                    .flatMap(clazz -> FastReflection.optionalField(playerConnectionClass, clazz));
+            Optional<Field> channelField = networkManagerClass.isPresent() && channelClass.isPresent()
+                    ? FastReflection.optionalField(networkManagerClass.get(), channelClass.get()) : Optional.empty();
+            boolean channelAccessible = networkManagerField.isPresent() && channelField.isPresent();
+            CONNECTION_NETWORK_MANAGER = channelAccessible ? lookup.unreflectGetter(networkManagerField.get()) : null;
+            NETWORK_MANAGER_CHANNEL = channelAccessible ? lookup.unreflectGetter(channelField.get()) : null;
             PACKET_SB_OBJ = FastReflection.findPacketConstructor(packetSbObjClass, lookup);
             PACKET_SB_DISPLAY_OBJ = FastReflection.findPacketConstructor(packetSbDisplayObjClass, lookup);
 
@@ -140,6 +186,10 @@ public abstract class BoardBase<T> {
             PACKET_SB_RESET_SCORE = packetSbResetScore;
             PACKET_SB_TEAM = FastReflection.findPacketConstructor(packetSbTeamClass, lookup);
             PACKET_SB_SERIALIZABLE_TEAM = sbTeamClass == null ? null : FastReflection.findPacketConstructor(sbTeamClass, lookup);
+            // Bundle packets are only available in 1.19.4+
+            Optional<Class<?>> bundleClass = FastReflection.nmsOptionalClass(gameProtocolPackage, "ClientboundBundlePacket");
+            PACKET_BUNDLE = bundleClass.isPresent()
+                    ? lookup.findConstructor(bundleClass.get(), MethodType.methodType(void.class, Iterable.class)) : null;
             FIXED_NUMBER_FORMAT = fixedFormatConstructor;
             BLANK_NUMBER_FORMAT = blankNumberFormat;
             SCORE_OPTIONAL_COMPONENTS = scoreOptionalComponents;
@@ -156,18 +206,11 @@ public abstract class BoardBase<T> {
                 ENUM_COLLISION_RULE_ALWAYS = null;
             }
 
-            for (Class<?> clazz : Arrays.asList(packetSbObjClass, packetSbDisplayObjClass, packetSbScoreClass, packetSbTeamClass, sbTeamClass)) {
-                if (clazz == null) {
-                    continue;
-                }
-                Field[] fields = Arrays.stream(clazz.getDeclaredFields())
-                        .filter(field -> !Modifier.isStatic(field.getModifiers()))
-                        .toArray(Field[]::new);
-                for (Field field : fields) {
-                    field.setAccessible(true);
-                }
-                PACKETS.put(clazz, fields);
-            }
+            SB_OBJ_FIELDS = PacketFields.compile(packetSbObjClass, CHAT_COMPONENT_CLASS, lookup);
+            SB_DISPLAY_OBJ_FIELDS = PacketFields.compile(packetSbDisplayObjClass, CHAT_COMPONENT_CLASS, lookup);
+            SB_SCORE_FIELDS = PacketFields.compile(packetSbScoreClass, CHAT_COMPONENT_CLASS, lookup);
+            SB_TEAM_FIELDS = PacketFields.compile(packetSbTeamClass, CHAT_COMPONENT_CLASS, lookup);
+            SB_SERIALIZABLE_TEAM_FIELDS = sbTeamClass == null ? null : PacketFields.compile(sbTeamClass, CHAT_COMPONENT_CLASS, lookup);
 
             if (VersionType.V1_8.isHigherOrEqual()) {
                 String enumSbActionClass = VersionType.V1_13.isHigherOrEqual()
@@ -185,6 +228,8 @@ public abstract class BoardBase<T> {
                 ENUM_SB_ACTION_CHANGE = null;
                 ENUM_SB_ACTION_REMOVE = null;
             }
+
+            STRATEGY = PacketStrategy.select();
         } catch (Throwable t) {
             throw new ExceptionInInitializerError(t);
         }
@@ -192,12 +237,13 @@ public abstract class BoardBase<T> {
 
     /**
      * -- GETTER --
-     *  Get the player who has the scoreboard.
+     *  Get the player who has the scoreboard, the adapter renders the board for this player.
+     *  When the board has several viewers, it's the first viewer still watching it.
      *
      * @return current player for this FastBoard
      */
     @Getter
-    private final Player player;
+    private volatile Player player;
     /**
      * -- GETTER --
      *  Get the scoreboard id.
@@ -207,6 +253,22 @@ public abstract class BoardBase<T> {
     @Getter
     private final String id;
 
+    /**
+     * -- GETTER --
+     *  Get the cached connection of the player, resolved once and reused for every packet.
+     *
+     * @return the connection of the player
+     */
+    @Getter
+    private volatile ViewerConnection connection;
+
+    // every packet is built once and sent to all the viewers, the first one is the player
+    private final List<ViewerConnection> viewers = new CopyOnWriteArrayList<>();
+    // when not null, the packets only go to this viewer, used to send a snapshot to a single viewer
+    private List<Object> privatePackets;
+    // viewers added while a frame was open, they get their snapshot once it's sent
+    private final List<ViewerConnection> pendingViewers = new ArrayList<>();
+
     private final List<T> lines = new ArrayList<>();
     private final List<T> scores = new ArrayList<>();
     /**
@@ -227,20 +289,111 @@ public abstract class BoardBase<T> {
     @Getter
     private boolean deleted = false;
 
+    /**
+     * -- GETTER --
+     *  Get if the packets of a frame are sent as a single bundle packet (1.19.4+ only).
+     *
+     * @return true if the frames are bundled
+     */
+    @Getter
+    private boolean bundlingEnabled = true;
+
+    /**
+     * -- GETTER --
+     *  Get how the packets of this board reach its viewers.
+     *
+     * @return the transport
+     */
+    @Getter
+    private volatile PacketTransport transport = PacketTransport.CONNECTION;
+
+    /**
+     * -- GETTER --
+     *  Get if the packets are held back from the viewers whose channel isn't writable.
+     *
+     * @return true if the backpressure of the viewers is respected
+     */
+    @Getter
+    private boolean backpressureEnabled = false;
+
+    /**
+     * -- GETTER --
+     *  Get how the text of the lines is displayed.
+     *
+     * @return the render mode
+     */
+    @Getter
+    private volatile RenderMode renderMode = RenderMode.TEAMS;
+
+    /**
+     * -- GETTER --
+     *  Get the budget capping the traffic of the owner of this board.
+     *
+     * @return the budget, or null if the traffic isn't capped
+     */
+    @Getter
+    private volatile PacketBudget budget;
+    // the lines left out because the budget was spent, sent on the next refreshes
+    private final BitSet deferredLines = new BitSet();
+    // the lines of the last body fetched and the last shared layer, the deferred lines are sent from them
+    private List<? extends Line<?>> lastLines = Collections.emptyList();
+    private SharedBody.Snapshot lastShared;
+
+    private final List<Object> framePackets = new ArrayList<>();
+    private int frameDepth = 0;
+    private int lastFrameSize = 0;
+    // what the packets waiting to be delivered change, for the viewers they're held back from
+    private final BitSet pendingScores = new BitSet();
+    private boolean pendingTitle;
+    // the number of lines the viewers in sync know
+    private int deliveredSize = 0;
+
+    private volatile ReactiveBody<?> reactiveBody;
+    // the frames of the shared animations the lines and the title were rendered from, by line index
+    private final Map<Integer, SharedFrame> sharedFrames = new HashMap<>();
+    // the revision of each shared line last rendered, when the adapter is layered
+    private long[] sharedRevisions = new long[0];
+    private volatile boolean titleAnimated;
+    private long titleRefreshPeriod;
+    private volatile boolean titleDirty;
+    private final AtomicBoolean dirtyQueued = new AtomicBoolean();
+    private volatile Consumer<BoardBase<?>> dirtyListener;
+
     /**
      * Creates a new FastBoard.
      *
      * @param player the owner of the scoreboard
      */
     protected BoardBase(Player player) {
+        this(player, RenderMode.TEAMS);
+    }
+
+    /**
+     * Creates a new FastBoard rendering its lines in the given mode from the start,
+     * so the lines aren't created as teams first.
+     *
+     * @param player     the owner of the scoreboard
+     * @param renderMode how the text of the lines is displayed
+     * @throws IllegalStateException if the mode isn't supported by the server
+     */
+    protected BoardBase(Player player, RenderMode renderMode) {
         this.player = Objects.requireNonNull(player, "player");
+        if (Objects.requireNonNull(renderMode, "renderMode") == RenderMode.SCORE_DISPLAY_NAMES && !customScoresAvailable()) {
+            throw new IllegalStateException("The score display names are only supported on 1.20.3+");
+        }
+        this.renderMode = renderMode;
         this.id = "fb-" + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+        this.connection = new ViewerConnection(player);
+        this.viewers.add(this.connection);
 
+        beginFrame();
         try {
             sendObjectivePacket(ObjectiveMode.CREATE);
             sendDisplayObjectivePacket();
         } catch (Throwable t) {
             throw new RuntimeException("Unable to create scoreboard", t);
+        } finally {
+            endFrame();
         }
 
        /* updateTitle();
@@ -317,6 +470,7 @@ public abstract class BoardBase<T> {
     /**
      * Update a single scoreboard line including how its score is displayed.
      * The score will only be displayed on 1.20.3 and higher.
+     * Nothing is sent if neither the text nor the score changed since the last update.
      *
      * @param line the line number
      * @param text the new line text
@@ -327,12 +481,30 @@ public abstract class BoardBase<T> {
         checkLineNumber(line, false, false);
         try {
             if (line < size()) {
+                boolean textChanged = hasChanged(this.lines.get(line), text);
+                boolean scoreChanged = hasChanged(this.scores.get(line), scoreText);
+
+                if (!textChanged && !scoreChanged) {
+                    if (BoardMetrics.isEnabled()) {
+                        BoardMetrics.get().recordSkippedLine();
+                    }
+                    return;
+                }
+
                 this.lines.set(line, text);
                 this.scores.set(line, scoreText);
 
-                sendLineChange(getScoreByLine(line));
+                if (this.renderMode == RenderMode.SCORE_DISPLAY_NAMES) {
+                    // the text and the score are in the same packet
+                    sendScorePacket(getScoreByLine(line), ScoreboardAction.CHANGE);
+                    return;
+                }
 
-                if (customScoresSupported()) {
+                if (textChanged) {
+                    sendLineChange(getScoreByLine(line));
+                }
+
+                if (scoreChanged && customScoresSupported()) {
                     sendScorePacket(getScoreByLine(line), ScoreboardAction.CHANGE);
                 }
 
@@ -421,6 +593,16 @@ public abstract class BoardBase<T> {
             throw new IllegalArgumentException("The size of the scores must match the size of the board");
         }
 
+        // the lines are sent as one frame, so the viewers always know a whole number of lines
+        beginFrame();
+        try {
+            replaceLines(lines, scores);
+        } finally {
+            endFrame();
+        }
+    }
+
+    private void replaceLines(Collection<T> lines, Collection<T> scores) {
         List<T> oldLines = new ArrayList<>(this.lines);
         this.lines.clear();
         this.lines.addAll(lines);
@@ -441,7 +623,8 @@ public abstract class BoardBase<T> {
                         sendScorePacket(i - 1, ScoreboardAction.REMOVE);
                         oldLines.remove(0);
                     }
-                } else {
+                } else if (this.renderMode == RenderMode.TEAMS) {
+                    // with the score display names, the new lines are created with their text below
                     for (int i = oldLinesCopy.size(); i < linesSize; i++) {
                         sendScorePacket(i, ScoreboardAction.CHANGE);
                         sendTeamPacket(i, TeamMode.CREATE, null, null);
@@ -450,10 +633,19 @@ public abstract class BoardBase<T> {
             }
 
             for (int i = 0; i < linesSize; i++) {
-                if (!Objects.equals(getLineByScore(oldLines, i), getLineByScore(i))) {
+                boolean textChanged = hasChanged(getLineByScore(oldLines, i), getLineByScore(i));
+                boolean scoreChanged = hasChanged(getLineByScore(oldScores, i), getLineByScore(this.scores, i));
+                if (this.renderMode == RenderMode.SCORE_DISPLAY_NAMES) {
+                    if (textChanged || scoreChanged) {
+                        sendScorePacket(i, ScoreboardAction.CHANGE);
+                    }
+                    continue;
+                }
+
+                if (textChanged) {
                     sendLineChange(i);
                 }
-                if (!Objects.equals(getLineByScore(oldScores, i), getLineByScore(this.scores, i))) {
+                if (scoreChanged) {
                     sendScorePacket(i, ScoreboardAction.CHANGE);
                 }
             }
@@ -474,6 +666,10 @@ public abstract class BoardBase<T> {
     public synchronized void updateScore(int line, T text) {
         checkLineNumber(line, true, false);
 
+        if (!hasChanged(this.scores.get(line), text)) {
+            return;
+        }
+
         this.scores.set(line, text);
 
         try {
@@ -525,7 +721,7 @@ public abstract class BoardBase<T> {
 
         List<T> newScores = new ArrayList<>(texts);
         for (int i = 0; i < this.scores.size(); i++) {
-            if (Objects.equals(this.scores.get(i), newScores.get(i))) {
+            if (!hasChanged(this.scores.get(i), newScores.get(i))) {
                 continue;
             }
 
@@ -547,6 +743,16 @@ public abstract class BoardBase<T> {
      * @return true if the server supports custom scores
      */
     public boolean customScoresSupported() {
+        return customScoresAvailable();
+    }
+
+    /**
+     * Get if the server supports custom scoreboard scores (1.20.3+ servers only),
+     * before any board is created.
+     *
+     * @return true if the server supports custom scores
+     */
+    public static boolean customScoresAvailable() {
         return BLANK_NUMBER_FORMAT != null;
     }
 
@@ -562,21 +768,330 @@ public abstract class BoardBase<T> {
     /**
      * Delete this FastBoard, and will remove the scoreboard for the associated player if he is online.
      * After this, all uses of {@link #updateLines} and {@link #updateTitle} will throw an {@link IllegalStateException}
+     * Inside a frame, the board is removed right away and the frame ends without sending anything.
      *
      * @throws IllegalStateException if this was already call before
      */
-    public void delete() {
+    public synchronized void delete() {
         try {
             for (int i = 0; i < this.lines.size(); i++) {
                 sendTeamPacket(i, TeamMode.REMOVE);
             }
 
             sendObjectivePacket(ObjectiveMode.REMOVE);
+
+            // inside a frame the removal is sent right away, after the packets queued before it,
+            // the frame is then closed by its caller without sending anything
+            if (this.frameDepth > 0) {
+                flushFrame();
+            }
         } catch (Throwable t) {
             throw new RuntimeException("Unable to delete scoreboard", t);
         }
 
+        // the lagging viewers skipped the packets above, they only have the lines they knew to remove
+        for (ViewerConnection viewer : this.viewers) {
+            if (viewer.isLagging()) {
+                int known = viewer.getKnownSize();
+                viewer.caughtUp();
+                sendPrivately(viewer, () -> {
+                    for (int score = 0; score < known; score++) {
+                        sendTeamPacket(score, TeamMode.REMOVE);
+                    }
+                    sendObjectivePacket(ObjectiveMode.REMOVE);
+                });
+            }
+        }
+
         this.deleted = true;
+        this.pendingViewers.clear();
+        for (ViewerConnection viewer : this.viewers) {
+            viewer.invalidate();
+        }
+    }
+
+    /**
+     * Show this board to another player, the same packets are then sent to all the viewers.
+     * The new viewer receives a snapshot of the current title and lines right away.
+     *
+     * @param viewer the player
+     * @return false if the player was already viewing this board
+     * @throws IllegalStateException if this board is deleted
+     */
+    public synchronized boolean addViewer(Player viewer) {
+        Objects.requireNonNull(viewer, "viewer");
+        if (this.deleted) {
+            throw new IllegalStateException("This FastBoard is deleted");
+        }
+        if (isViewing(viewer)) {
+            return false;
+        }
+
+        ViewerConnection connection = new ViewerConnection(viewer);
+        if (this.frameDepth > 0) {
+            // the packets of the frame describe changes the snapshot would already contain
+            this.pendingViewers.add(connection);
+        } else {
+            attach(connection);
+        }
+        return true;
+    }
+
+    private void attach(ViewerConnection connection) {
+        sendPrivately(connection, () -> {
+            sendObjectivePacket(ObjectiveMode.CREATE);
+            sendDisplayObjectivePacket();
+            for (int i = 0; i < this.lines.size(); i++) {
+                sendLineCreation(i);
+            }
+        });
+        this.viewers.add(connection);
+    }
+
+    /**
+     * Hide this board from one of its viewers, the board itself stays as it is.
+     * If the player was the owner of the board, the next viewer becomes the owner.
+     *
+     * @param viewer the player
+     * @return false if the player wasn't viewing this board
+     * @throws IllegalStateException if it's the last viewer, the board must be deleted instead
+     */
+    public synchronized boolean removeViewer(Player viewer) {
+        ViewerConnection connection = viewerOf(viewer);
+        if (connection == null) {
+            return false;
+        }
+        if (this.pendingViewers.remove(connection)) {
+            return true;
+        }
+        if (this.viewers.size() == 1) {
+            throw new IllegalStateException("Can't remove the last viewer of a board, delete it instead");
+        }
+
+        this.viewers.remove(connection);
+        if (connection == this.connection) {
+            this.connection = this.viewers.get(0);
+            this.player = this.connection.getPlayer();
+        }
+
+        if (!this.deleted && viewer.isOnline()) {
+            int known = connection.isLagging() ? connection.getKnownSize() : this.lines.size();
+            connection.caughtUp();
+            sendPrivately(connection, () -> {
+                for (int i = 0; i < known; i++) {
+                    sendTeamPacket(i, TeamMode.REMOVE);
+                }
+                sendObjectivePacket(ObjectiveMode.REMOVE);
+            });
+        }
+        connection.invalidate();
+        return true;
+    }
+
+    public boolean isViewing(Player player) {
+        return viewerOf(player) != null;
+    }
+
+    /**
+     * @return the players viewing this board, the first one is the owner
+     */
+    public List<Player> getViewers() {
+        List<Player> players = new ArrayList<>(this.viewers.size());
+        for (ViewerConnection viewer : this.viewers) {
+            players.add(viewer.getPlayer());
+        }
+        return players;
+    }
+
+    public int getViewerCount() {
+        return this.viewers.size();
+    }
+
+    private ViewerConnection viewerOf(Player player) {
+        for (ViewerConnection viewer : this.viewers) {
+            if (viewer.getPlayer().getUniqueId().equals(player.getUniqueId())) {
+                return viewer;
+            }
+        }
+        for (ViewerConnection viewer : this.pendingViewers) {
+            if (viewer.getPlayer().getUniqueId().equals(player.getUniqueId())) {
+                return viewer;
+            }
+        }
+        return null;
+    }
+
+    // Build packets from the current state of the board and send them to a single viewer, as one bundle if possible
+    private void sendPrivately(ViewerConnection viewer, PacketWriter writer) {
+        List<Object> packets = new ArrayList<>();
+        this.privatePackets = packets;
+        try {
+            writer.write();
+        } catch (Throwable t) {
+            throw new RuntimeException("Unable to send scoreboard snapshot", t);
+        } finally {
+            this.privatePackets = null;
+        }
+
+        try {
+            List<Object> wire = bundle(packets);
+            deliver(viewer, wire);
+            if (BoardMetrics.isEnabled()) {
+                recordDelivery(packets, wire != packets, 1);
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException("Unable to send scoreboard snapshot", t);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PacketWriter {
+        void write() throws Throwable;
+    }
+
+    /**
+     * Get the netty channel of the player, so packets can be written without going through the player connection.
+     *
+     * @return the channel, or null if the player is offline or the channel can't be accessed on this version
+     */
+    public Channel getChannel() {
+        return this.connection.getChannel();
+    }
+
+    /**
+     * Start collecting the packets of a frame instead of sending them right away.
+     * Frames can be nested, the packets are only sent once the outermost frame is ended.
+     *
+     * @see #endFrame()
+     */
+    public synchronized void beginFrame() {
+        this.frameDepth++;
+    }
+
+    /**
+     * End the current frame and send all the packets collected since {@link #beginFrame()}.
+     * On 1.19.4+ the packets are sent as a single bundle packet, so the client renders the frame at once,
+     * on older versions they are sent one after the other.
+     *
+     * @throws IllegalStateException if no frame was started
+     */
+    public synchronized void endFrame() {
+        if (this.frameDepth == 0) {
+            throw new IllegalStateException("No frame was started");
+        }
+
+        // the packets of a frame the board was deleted in were already sent by delete()
+        if (--this.frameDepth > 0 || this.deleted) {
+            return;
+        }
+
+        flushFrame();
+
+        if (!this.pendingViewers.isEmpty()) {
+            List<ViewerConnection> pending = new ArrayList<>(this.pendingViewers);
+            this.pendingViewers.clear();
+            for (ViewerConnection viewer : pending) {
+                attach(viewer);
+            }
+        }
+    }
+
+    private void flushFrame() {
+        this.lastFrameSize = this.framePackets.size();
+
+        try {
+            sendPackets(new ArrayList<>(this.framePackets));
+        } catch (Throwable t) {
+            throw new RuntimeException("Unable to send scoreboard frame", t);
+        } finally {
+            this.framePackets.clear();
+        }
+    }
+
+    /**
+     * Get the number of packets of the last frame sent, before they were bundled.
+     *
+     * @return the size of the last frame, 0 if nothing changed
+     */
+    public synchronized int getLastFrameSize() {
+        return this.lastFrameSize;
+    }
+
+    /**
+     * Set if the packets of a frame should be sent as a single bundle packet.
+     * This has no effect on servers below 1.19.4.
+     *
+     * @param bundlingEnabled true to bundle the frames
+     */
+    public synchronized void setBundlingEnabled(boolean bundlingEnabled) {
+        this.bundlingEnabled = bundlingEnabled;
+    }
+
+    /**
+     * Set how the packets of this board reach its viewers, {@link PacketTransport#CHANNEL}
+     * writes the packets of a frame to the netty channel and flushes it once,
+     * off the main thread.
+     *
+     * @param transport the transport
+     */
+    public void setTransport(PacketTransport transport) {
+        this.transport = Objects.requireNonNull(transport, "transport");
+    }
+
+    /**
+     * Set if the packets should be held back from the viewers whose netty channel isn't writable,
+     * e.g: players with a congested connection. Only the latest state of the lines they missed
+     * is sent to them once their channel drains, instead of every packet in between.
+     *
+     * @param backpressureEnabled true to respect the backpressure of the viewers
+     * @see #flushLaggingViewers()
+     */
+    public synchronized void setBackpressureEnabled(boolean backpressureEnabled) {
+        this.backpressureEnabled = backpressureEnabled;
+    }
+
+    /**
+     * Set how the text of the lines is displayed. With {@link RenderMode#SCORE_DISPLAY_NAMES},
+     * no team is created and each line creation or change is a single score packet.
+     * The lines already displayed are moved to the new mode.
+     *
+     * @param renderMode the render mode
+     * @throws IllegalStateException if the mode isn't supported by the server
+     */
+    public synchronized void setRenderMode(RenderMode renderMode) {
+        Objects.requireNonNull(renderMode, "renderMode");
+        if (renderMode == this.renderMode) {
+            return;
+        }
+        if (renderMode == RenderMode.SCORE_DISPLAY_NAMES && !customScoresSupported()) {
+            throw new IllegalStateException("The score display names are only supported on 1.20.3+");
+        }
+
+        beginFrame();
+        try {
+            if (renderMode == RenderMode.SCORE_DISPLAY_NAMES) {
+                for (int score = 0; score < size(); score++) {
+                    sendTeamPacket(score, TeamMode.REMOVE);
+                }
+            }
+            this.renderMode = renderMode;
+            for (int score = 0; score < size(); score++) {
+                sendLineCreation(score);
+            }
+        } catch (Throwable t) {
+            throw new RuntimeException("Unable to change the render mode", t);
+        } finally {
+            endFrame();
+        }
+    }
+
+    /**
+     * Get if the server supports bundle packets (1.19.4+ servers only).
+     *
+     * @return true if the server supports bundle packets
+     */
+    public boolean bundlingSupported() {
+        return PACKET_BUNDLE != null;
     }
     public abstract BoardUpdate getUpdate();
 
@@ -602,6 +1117,19 @@ public abstract class BoardBase<T> {
         }
     }
 
+    /**
+     * Checks whether a line or score value differs from the one last sent to the player.
+     * Unchanged values are skipped so a static board costs no packets per update.
+     * Can be overridden when two values should be treated as equal even though {@code equals} says otherwise.
+     *
+     * @param previous the value currently displayed, may be null
+     * @param current  the new value, may be null
+     * @return true if the new value has to be sent
+     */
+    protected boolean hasChanged(T previous, T current) {
+        return previous != current && !Objects.equals(previous, current);
+    }
+
     protected int getScoreByLine(int line) {
         return this.lines.size() - line - 1;
     }
@@ -614,180 +1142,684 @@ public abstract class BoardBase<T> {
         return score < lines.size() ? lines.get(lines.size() - score - 1) : null;
     }
 
-    protected void sendObjectivePacket(ObjectiveMode mode) throws Throwable {
-        Object packet = PACKET_SB_OBJ.invoke();
+    /**
+     * Convert a line to a Minecraft component, reusing the component of the current frame
+     * if the line was rendered from a {@link SharedAnimation}, so it's converted once for all the boards.
+     */
+    @SuppressWarnings("unchecked")
+    Object component(T value) throws Throwable {
+        if (value != null && !this.sharedFrames.isEmpty()) {
+            for (SharedFrame frame : this.sharedFrames.values()) {
+                if (frame.value == value) {
+                    return frame.animation.frameComponent(frame.revision, value, line -> toMinecraftComponent((T) line));
+                }
+            }
+        }
+        return toMinecraftComponent(value);
+    }
 
-        setField(packet, String.class, this.id);
-        setField(packet, int.class, mode.ordinal());
+    // Remember the frame of the shared animation a line or the title was rendered from,
+    // the reuse is keyed on the animation and the revision of its frame, not on the rendered value
+    private T trackFrame(int index, Animation<?> animation, T value) {
+        if (animation instanceof SharedAnimation) {
+            SharedAnimation<?> shared = (SharedAnimation<?>) animation;
+            this.sharedFrames.put(index, new SharedFrame(value, shared, shared.getRevision()));
+        } else if (!this.sharedFrames.isEmpty()) {
+            this.sharedFrames.remove(index);
+        }
+        return value;
+    }
 
-        if (mode != ObjectiveMode.REMOVE) {
-            setComponentField(packet, this.title, 1);
-            setField(packet, Optional.class, Optional.empty()); // Number format for 1.20.5+, previously nullable
+    private static final class SharedFrame {
+        private final Object value;
+        private final SharedAnimation<?> animation;
+        private final long revision;
 
-            if (VersionType.V1_8.isHigherOrEqual()) {
-                setField(packet, ENUM_SB_HEALTH_DISPLAY, ENUM_SB_HEALTH_DISPLAY_INTEGER);
-            }
-        } else if (VERSION_TYPE == VersionType.V1_7) {
-            setField(packet, String.class, "", 1);
+        private SharedFrame(Object value, SharedAnimation<?> animation, long revision) {
+            this.value = value;
+            this.animation = animation;
+            this.revision = revision;
         }
+    }
 
-        sendPacket(packet);
+    T getScoreText(int score) {
+        return getLineByScore(this.scores, score);
+    }
+
+    protected void sendObjectivePacket(ObjectiveMode mode) throws Throwable {
+        if (this.privatePackets == null) {
+            this.pendingTitle = true;
+            if (this.budget != null) {
+                this.budget.consume(PacketSizeEstimator.objective(this.id, serializeLine(this.title)));
+            }
+        }
+        sendPacket(STRATEGY.objectivePacket(this, mode), PacketType.OBJECTIVE);
     }
 
     protected void sendDisplayObjectivePacket() throws Throwable {
-        Object packet = PACKET_SB_DISPLAY_OBJ.invoke();
+        if (this.privatePackets == null && this.budget != null) {
+            this.budget.consume(PacketSizeEstimator.displayObjective(this.id));
+        }
+        sendPacket(STRATEGY.displayObjectivePacket(this), PacketType.DISPLAY_OBJECTIVE);
+    }
+
+    protected void sendScorePacket(int score, ScoreboardAction action) throws Throwable {
+        if (this.privatePackets == null) {
+            this.pendingScores.set(score);
+            if (this.budget != null) {
+                T scoreText = customScoresSupported() ? getLineByScore(this.scores, score) : null;
+                T displayName = this.renderMode == RenderMode.SCORE_DISPLAY_NAMES ? getLineByScore(score) : null;
+                this.budget.consume(PacketSizeEstimator.score(COLOR_CODES[score], this.id,
+                        scoreText == null ? null : serializeLine(scoreText))
+                        + (displayName == null ? 0 : 1 + PacketSizeEstimator.component(serializeLine(displayName))));
+            }
+        }
+        sendPacket(STRATEGY.scorePacket(this, score, action), PacketType.SCORE);
+    }
+
+    protected void sendTeamPacket(int score, TeamMode mode) throws Throwable {
+        sendTeamPacket(score, mode, null, null);
+    }
 
-        setField(packet, DISPLAY_SLOT_TYPE, SIDEBAR_DISPLAY_SLOT); // Position
-        setField(packet, String.class, this.id); // Score Name
+    // Send the packets making a line appear with its text and score
+    private void sendLineCreation(int score) throws Throwable {
+        sendScorePacket(score, ScoreboardAction.CHANGE);
+        if (this.renderMode == RenderMode.TEAMS) {
+            sendTeamPacket(score, TeamMode.CREATE, null, null);
+            sendLineChange(score);
+        }
+    }
+
+    /**
+     * Send a team packet, nothing is sent when the lines are rendered as score display names.
+     */
+    protected void sendTeamPacket(int score, TeamMode mode, T prefix, T suffix)
+            throws Throwable {
+        if (this.renderMode == RenderMode.SCORE_DISPLAY_NAMES) {
+            return;
+        }
+        if (this.privatePackets == null) {
+            this.pendingScores.set(score);
+            if (this.budget != null) {
+                this.budget.consume(PacketSizeEstimator.team(PacketStrategy.teamName(this, score),
+                        mode == TeamMode.CREATE, mode == TeamMode.REMOVE,
+                        prefix == null ? null : serializeLine(prefix),
+                        suffix == null ? null : serializeLine(suffix), COLOR_CODES[score]));
+            }
+        }
+        sendPacket(STRATEGY.teamPacket(this, score, mode, prefix, suffix), PacketType.TEAM);
+    }
 
+    private void sendPacket(Object packet, PacketType type) throws Throwable {
+        if (BoardMetrics.isEnabled()) {
+            // the packets are counted once delivered, by the type of their class
+            PACKET_TYPES.putIfAbsent(packet.getClass(), type);
+        }
         sendPacket(packet);
     }
 
-    protected void sendScorePacket(int score, ScoreboardAction action) throws Throwable {
-        if (VersionType.V1_17.isHigherOrEqual()) {
-            sendModernScorePacket(score, action);
+    private void sendPacket(Object packet) throws Throwable {
+        if (this.deleted) {
+            throw new IllegalStateException("This FastBoard is deleted");
+        }
+
+        if (this.privatePackets != null) {
+            this.privatePackets.add(packet);
             return;
         }
 
-        Object packet = PACKET_SB_SET_SCORE.invoke();
+        if (this.frameDepth > 0) {
+            this.framePackets.add(packet);
+            return;
+        }
 
-        setField(packet, String.class, COLOR_CODES[score], 0); // Player Name
+        sendPackets(Collections.singletonList(packet));
+    }
 
-        if (VersionType.V1_8.isHigherOrEqual()) {
-            Object enumAction = action == ScoreboardAction.REMOVE
-                    ? ENUM_SB_ACTION_REMOVE : ENUM_SB_ACTION_CHANGE;
-            setField(packet, ENUM_SB_ACTION, enumAction);
-        } else {
-            setField(packet, int.class, action.ordinal(), 1); // Action
+    private void sendPackets(List<Object> packets) throws Throwable {
+        if (packets.isEmpty()) {
+            return;
+        }
+        if (this.deleted) {
+            throw new IllegalStateException("This FastBoard is deleted");
         }
 
-        if (action == ScoreboardAction.CHANGE) {
-            setField(packet, String.class, this.id, 1); // Objective Name
-            setField(packet, int.class, score); // Score
+        List<Object> wire = bundle(packets);
+        int delivered = 0;
+        for (ViewerConnection viewer : this.viewers) {
+            if (viewer.isLagging() || (this.backpressureEnabled && !viewer.isWritable())) {
+                viewer.holdBack(this.deliveredSize, this.pendingScores, this.pendingTitle);
+                continue;
+            }
+            deliver(viewer, wire);
+            delivered++;
+        }
+        if (delivered > 0 && BoardMetrics.isEnabled()) {
+            recordDelivery(packets, wire != packets, delivered);
         }
 
-        sendPacket(packet);
+        this.pendingScores.clear();
+        this.pendingTitle = false;
+        this.deliveredSize = this.lines.size();
     }
 
-    private void sendModernScorePacket(int score, ScoreboardAction action) throws Throwable {
-        String objName = COLOR_CODES[score];
-        Object enumAction = action == ScoreboardAction.REMOVE
-                ? ENUM_SB_ACTION_REMOVE : ENUM_SB_ACTION_CHANGE;
+    /**
+     * Check if some viewers have packets held back because their channel wasn't writable.
+     *
+     * @return true if a viewer is lagging behind
+     * @see #setBackpressureEnabled(boolean)
+     */
+    public boolean hasLaggingViewers() {
+        for (ViewerConnection viewer : this.viewers) {
+            if (viewer.isLagging()) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        if (PACKET_SB_RESET_SCORE == null) { // Pre 1.20.3
-            sendPacket(PACKET_SB_SET_SCORE.invoke(enumAction, this.id, objName, score));
+    /**
+     * Send the latest state of the lines and the title the lagging viewers missed,
+     * to the viewers whose channel drained. Called by the BoardManager on every tick.
+     */
+    public synchronized void flushLaggingViewers() {
+        if (this.deleted || this.frameDepth > 0) {
             return;
         }
 
-        if (action == ScoreboardAction.REMOVE) {
-            sendPacket(PACKET_SB_RESET_SCORE.invoke(objName, this.id));
+        for (ViewerConnection viewer : this.viewers) {
+            if (viewer.isLagging() && viewer.isWritable()) {
+                catchUp(viewer);
+            }
+        }
+    }
+
+    // Only the packets of the latest state of each held back line are sent, not the ones in between
+    private void catchUp(ViewerConnection viewer) {
+        int known = viewer.getKnownSize();
+        int size = this.lines.size();
+        BitSet stale = (BitSet) viewer.getStaleScores().clone();
+        boolean title = viewer.isStaleTitle();
+        viewer.caughtUp();
+
+        sendPrivately(viewer, () -> {
+            if (title) {
+                sendObjectivePacket(ObjectiveMode.UPDATE);
+            }
+            for (int score = known - 1; score >= size; score--) {
+                sendTeamPacket(score, TeamMode.REMOVE);
+                sendScorePacket(score, ScoreboardAction.REMOVE);
+            }
+            for (int score = known; score < size; score++) {
+                sendLineCreation(score);
+            }
+            int kept = Math.min(known, size);
+            for (int score = stale.nextSetBit(0); score >= 0 && score < kept; score = stale.nextSetBit(score + 1)) {
+                if (this.renderMode == RenderMode.TEAMS) {
+                    sendLineChange(score);
+                }
+                sendScorePacket(score, ScoreboardAction.CHANGE);
+            }
+        });
+    }
+
+    // Wrap the packets of a frame into a bundle packet when they're more than one and it's supported
+    private List<Object> bundle(List<Object> packets) throws Throwable {
+        if (packets.size() > 1 && bundlingSupported() && this.bundlingEnabled) {
+            return Collections.singletonList(PACKET_BUNDLE.invoke(packets));
+        }
+        return packets;
+    }
+
+    // Count the scoreboard packets delivered to the viewers, and the bundle wrapping them apart
+    private static void recordDelivery(List<Object> packets, boolean bundled, int viewers) {
+        BoardMetrics metrics = BoardMetrics.get();
+        for (Object packet : packets) {
+            PacketType type = PACKET_TYPES.get(packet.getClass());
+            if (type != null) {
+                metrics.recordPacket(type, viewers);
+            }
+        }
+        if (bundled) {
+            metrics.recordPacket(PacketType.BUNDLE, viewers);
+        }
+    }
+
+    private void deliver(ViewerConnection viewer, List<Object> packets) throws Throwable {
+        if (this.transport == PacketTransport.CHANNEL) {
+            viewer.writePackets(packets);
             return;
         }
 
-        T scoreFormat = getLineByScore(this.scores, score);
-        Object format = scoreFormat != null
-                ? FIXED_NUMBER_FORMAT.invoke(toMinecraftComponent(scoreFormat))
-                : BLANK_NUMBER_FORMAT;
-        Object scorePacket = SCORE_OPTIONAL_COMPONENTS
-                ? PACKET_SB_SET_SCORE.invoke(objName, this.id, score, Optional.empty(), Optional.of(format))
-                : PACKET_SB_SET_SCORE.invoke(objName, this.id, score, null, format);
+        for (Object packet : packets) {
+            viewer.sendPacket(packet);
+        }
+    }
+
+    public void updateTitle() {
+        updateTitle(this.getTitle());
+    }
 
-        sendPacket(scorePacket);
+    /**
+     * Update the title and the lines of the scoreboard from its adapter,
+     * all the packets produced are sent as one frame.
+     *
+     * @return false if the adapter content had to be converted
+     */
+    public boolean update() {
+        beginFrame();
+        try {
+            return render();
+        } finally {
+            endFrame();
+        }
     }
 
-    protected void sendTeamPacket(int score, TeamMode mode) throws Throwable {
-        sendTeamPacket(score, mode, null, null);
+    /**
+     * Fetch the title and the lines from the adapter and apply them to the scoreboard.
+     *
+     * @return false if the adapter content had to be converted
+     * @see #update()
+     */
+    protected boolean render() {
+        refresh(null, true, null);
+        return true;
     }
 
-    protected void sendTeamPacket(int score, TeamMode mode, T prefix, T suffix)
-            throws Throwable {
-        if (mode == TeamMode.ADD_PLAYERS || mode == TeamMode.REMOVE_PLAYERS) {
-            throw new UnsupportedOperationException();
+    /**
+     * Update the title and only the given lines from the adapter.
+     * The body is still fetched once, but only the lines that are due are fetched and sent.
+     *
+     * @param lines   the indexes of the lines to update, or null to update all of them
+     * @param title   true to update the title
+     * @param visitor notified of the title (if updated) and of every line of the body, may be null
+     */
+    public synchronized void refresh(BitSet lines, boolean title, RefreshVisitor visitor) {
+        refresh(lines, title, visitor, true);
+    }
+
+    /**
+     * Update the title and the lines that aren't animated, so the data shown by the board
+     * stays up-to-date while the animations are slowed down.
+     * Boards with a custom {@link BoardUpdate} are updated as a whole.
+     */
+    public synchronized void refreshData() {
+        BoardUpdate update = getUpdate();
+        if (update != BoardUpdate.DEFAULT) {
+            if (update != null) {
+                update.update(this);
+            }
+            return;
         }
+        refresh(null, true, null, false);
+    }
 
-        Object packet = PACKET_SB_TEAM.invoke();
+    /**
+     * Update the title and only the given lines from the adapter,
+     * leaving the animated lines and title as they are unless animations is true.
+     *
+     * @param lines      the indexes of the lines to update, or null to update all of them
+     * @param title      true to update the title
+     * @param visitor    notified of the title (if requested) and of every line of the body, may be null
+     * @param animations false to only update the lines showing data, while the animations are slowed down
+     * @see #refresh(BitSet, boolean, RefreshVisitor)
+     */
+    public synchronized void refresh(BitSet lines, boolean title, RefreshVisitor visitor, boolean animations) {
+        BoardAdapter adapter = getAdapter();
+        boolean metrics = BoardMetrics.isEnabled();
+
+        if (title && !animations && this.titleAnimated) {
+            // the animated title keeps its frame until the animations move
+            if (visitor != null) {
+                visitor.visit(TITLE_INDEX, this.titleRefreshPeriod, false);
+            }
+        } else if (title) {
+            long start = metrics ? System.nanoTime() : 0L;
+            Title<?> boardTitle = adapter.title(this.player);
+            this.titleAnimated = boardTitle.hasAnimation();
+            this.titleRefreshPeriod = boardTitle.getRefreshPeriod();
+            Object content = boardTitle.fetchContent().orElseThrow();
+            if (metrics) {
+                BoardMetrics.get().recordTitle(adapter, System.nanoTime() - start);
+            }
+            updateTitle(trackFrame(TITLE_INDEX, boardTitle.loadAnimation().orElse(null), adapt(content)));
 
-        setField(packet, String.class, this.id + ':' + score); // Team name
-        setField(packet, int.class, mode.ordinal(), VERSION_TYPE == VersionType.V1_8 ? 1 : 0); // Update mode
+            if (visitor != null) {
+                visitor.visit(TITLE_INDEX, boardTitle.getRefreshPeriod(), true);
+            }
+        }
 
-        if (mode == TeamMode.REMOVE) {
-            sendPacket(packet);
+        if (adapter instanceof LayeredBoardAdapter) {
+            refreshLayers((LayeredBoardAdapter) adapter, lines, visitor, animations);
             return;
         }
 
-        if (VersionType.V1_17.isHigherOrEqual()) {
-            Object team = PACKET_SB_SERIALIZABLE_TEAM.invoke();
-            // Since the packet is initialized with null values, we need to change more things.
-            setComponentField(team, null, 0); // Display name
-            setField(team, CHAT_FORMAT_ENUM, RESET_FORMATTING); // Color
-            setComponentField(team, prefix, 1); // Prefix
-            setComponentField(team, suffix, 2); // Suffix
-            setField(team, String.class, "always", 0); // Visibility
-            setField(team, String.class, "always", 1); // Collisions
-            setField(team, ENUM_VISIBILITY, ENUM_VISIBILITY_ALWAYS, 0); // 1.21.5+
-            setField(team, ENUM_COLLISION_RULE, ENUM_COLLISION_RULE_ALWAYS, 0);
-            setField(packet, Optional.class, Optional.of(team));
-        } else {
-            setComponentField(packet, prefix, 2); // Prefix
-            setComponentField(packet, suffix, 3); // Suffix
-            setField(packet, String.class, "always", 4); // Visibility for 1.8+
-            setField(packet, String.class, "always", 5); // Collisions for 1.9+
+        long start = metrics ? System.nanoTime() : 0L;
+        Body<?> body = adapter.getBody(this.player);
+        if (metrics) {
+            BoardMetrics.get().recordBody(adapter, System.nanoTime() - start);
+        }
+        if (body instanceof ReactiveBody && body != this.reactiveBody) {
+            ((ReactiveBody<?>) body).bind(this);
+            this.reactiveBody = (ReactiveBody<?>) body;
+        } else if (!(body instanceof ReactiveBody)) {
+            this.reactiveBody = null;
         }
+        if (lines == null && animations && body instanceof ReactiveBody) {
+            // every line is rendered, so none of them is dirty anymore
+            ((ReactiveBody<?>) body).drainDirty();
+        }
+
+        PacketBudget budget = this.budget;
+        List<? extends Line<?>> bodyLines = body.getLines();
+        this.lastLines = bodyLines;
+        this.lastShared = null;
+        for (Line<?> line : budget == null ? bodyLines : byPriority(bodyLines)) {
+            int index = line.getIndex();
+            boolean due = (lines == null || lines.get(index) || this.deferredLines.get(index))
+                    && (animations || line.getAnimation() == null);
+
+            if (due && !withinBudget(budget, line)) {
+                due = false;
+            }
+            if (due) {
+                renderLine(adapter, line, metrics);
+            }
 
-        if (mode == TeamMode.CREATE) {
-            setField(packet, Collection.class, Collections.singletonList(COLOR_CODES[score])); // Players in the team
+            if (visitor != null) {
+                visitor.visit(index, line.getRefreshPeriod(), due);
+            }
         }
 
-        sendPacket(packet);
+        if (lines == null && !this.deferredLines.isEmpty()) {
+            // the lines that were removed from the body aren't deferred anymore
+            BitSet present = new BitSet();
+            for (Line<?> line : bodyLines) {
+                present.set(line.getIndex());
+            }
+            this.deferredLines.and(present);
+        }
     }
 
-    private void sendPacket(Object packet) throws Throwable {
-        if (this.deleted) {
-            throw new IllegalStateException("This FastBoard is deleted");
-        }
+    private static List<? extends Line<?>> byPriority(List<? extends Line<?>> lines) {
+        List<Line<?>> sorted = new ArrayList<>(lines);
+        sorted.sort(Comparator.comparing(Line::getPriority));
+        return sorted;
+    }
 
-        if (this.player.isOnline()) {
-            Object entityPlayer = PLAYER_GET_HANDLE.invoke(this.player);
-            Object playerConnection = PLAYER_CONNECTION.invoke(entityPlayer);
-            SEND_PACKET.invoke(playerConnection, packet);
+    // Once the budget is spent, the lines are deferred to the next refreshes,
+    // except for the low priority lines which are skipped
+    private boolean withinBudget(PacketBudget budget, Line<?> line) {
+        int index = line.getIndex();
+        if (budget == null || !budget.isExhausted()) {
+            this.deferredLines.clear(index);
+            return true;
+        }
+        if (line.getPriority() != LinePriority.LOW) {
+            this.deferredLines.set(index);
         }
+        return false;
     }
 
-    private void setField(Object object, Class<?> fieldType, Object value)
-            throws ReflectiveOperationException {
-        setField(object, fieldType, value, 0);
+    /**
+     * Check if some lines were left out because the budget of the owner was spent.
+     *
+     * @return true if lines are waiting for the next refresh
+     * @see #setBudget(PacketBudget)
+     */
+    public synchronized boolean hasDeferredLines() {
+        return !this.deferredLines.isEmpty();
     }
 
-    private void setField(Object packet, Class<?> fieldType, Object value, int count)
-            throws ReflectiveOperationException {
-        int i = 0;
-        for (Field field : PACKETS.get(packet.getClass())) {
-            if (field.getType() == fieldType && count == i++) {
-                field.set(packet, value);
+    /**
+     * Render the lines left out because the budget of the owner was spent,
+     * as long as the budget allows it. Called by the BoardManager on every tick.
+     * The lines are taken from the last body fetched, the adapter isn't called again.
+     */
+    public synchronized void flushDeferred() {
+        PacketBudget budget = this.budget;
+        if (this.deferredLines.isEmpty() || budget == null || budget.isExhausted() || this.deleted) {
+            return;
+        }
+
+        BitSet remaining = (BitSet) this.deferredLines.clone();
+        List<Line<?>> deferred = new ArrayList<>();
+        for (Line<?> line : this.lastLines) {
+            if (remaining.get(line.getIndex())) {
+                remaining.clear(line.getIndex());
+                deferred.add(line);
+            }
+        }
+        SharedBody.Snapshot shared = this.lastShared;
+        for (int index = remaining.nextSetBit(0); index >= 0; index = remaining.nextSetBit(index + 1)) {
+            Line<?> line = shared != null && index < shared.size() ? shared.line(index) : null;
+            if (line != null) {
+                deferred.add(line);
+            } else {
+                // the line isn't part of the board anymore
+                this.deferredLines.clear(index);
+            }
+        }
+
+        BoardAdapter adapter = getAdapter();
+        boolean metrics = BoardMetrics.isEnabled();
+        for (Line<?> line : byPriority(deferred)) {
+            if (!withinBudget(budget, line)) {
+                continue;
+            }
+
+            int index = line.getIndex();
+            if (shared != null && shared.line(index) == line) {
+                // the shared layer may have moved to other frames since, its component isn't reused
+                updateLine(index, trackFrame(index, null, adapt(shared.content(index))));
+                this.sharedRevisions[index] = shared.revision(index);
+            } else {
+                renderLine(adapter, line, metrics);
             }
         }
     }
 
-    private void setComponentField(Object packet, T value, int count) throws Throwable {
-        if (!VersionType.V1_13.isHigherOrEqual()) {
-            String line = value != null ? serializeLine(value) : "";
-            setField(packet, String.class, line, count);
+    /**
+     * Cap the traffic of this board, the lines are then sent by priority until the budget is spent.
+     * The budget is the one of the owner, the packets broadcast to the other viewers of a shared board
+     * are charged once to it and aren't accounted in the budgets of these viewers.
+     *
+     * @param budget the budget of the owner, or null to send every line
+     */
+    public synchronized void setBudget(PacketBudget budget) {
+        this.budget = budget;
+        if (budget == null) {
+            this.deferredLines.clear();
+        }
+    }
+
+    private void renderLine(BoardAdapter adapter, Line<?> line, boolean metrics) {
+        if (!(line instanceof Line.LineImplementation.ValueLine) || !customScoresSupported()) {
+            Object content = fetchContent(adapter, line, metrics);
+            updateLine(line.getIndex(), trackFrame(line.getIndex(), line.getAnimation(), adapt(content)));
             return;
         }
 
-        int i = 0;
-        for (Field field : PACKETS.get(packet.getClass())) {
-            if ((field.getType() == String.class || field.getType() == CHAT_COMPONENT_CLASS) && count == i++) {
-                field.set(packet, toMinecraftComponent(value));
+        // the value is displayed as the score of the line, so the label is only sent when it changes
+        Line.LineImplementation.ValueLine<?> valueLine = (Line.LineImplementation.ValueLine<?>) line;
+        long start = metrics ? System.nanoTime() : 0L;
+        Object value = valueLine.fetchValue();
+        if (metrics) {
+            BoardMetrics.get().recordLine(adapter, line.getIndex(), System.nanoTime() - start);
+        }
+        updateLine(line.getIndex(), trackFrame(line.getIndex(), null, adapt(valueLine.getLabel())), adapt(value));
+    }
+
+    private static Object fetchContent(BoardAdapter adapter, Line<?> line, boolean metrics) {
+        if (!metrics) {
+            return line.fetchContent();
+        }
+        long start = System.nanoTime();
+        Object content = line.fetchContent();
+        BoardMetrics.get().recordLine(adapter, line.getIndex(), System.nanoTime() - start);
+        return content;
+    }
+
+    // The shared lines are only rendered if they changed since this board last rendered them,
+    // the overlay lines are rendered like the lines of a regular body
+    private void refreshLayers(LayeredBoardAdapter adapter, BitSet lines, RefreshVisitor visitor, boolean animations) {
+        boolean metrics = BoardMetrics.isEnabled();
+        long start = metrics ? System.nanoTime() : 0L;
+        SharedBody.Snapshot shared = adapter.getSharedBody().render();
+        Body<?> overlay = adapter.getOverlay(this.player);
+        if (metrics) {
+            // the shared layer is only fetched by the first board of the tick
+            BoardMetrics.get().recordBody(adapter, System.nanoTime() - start);
+        }
+        List<? extends Line<?>> overlayLines = overlay == null ? Collections.emptyList() : overlay.getLines();
+        this.lastLines = overlayLines;
+        this.lastShared = shared;
+
+        BitSet overlaid = new BitSet();
+        for (Line<?> line : overlayLines) {
+            overlaid.set(line.getIndex());
+        }
+
+        if (this.sharedRevisions.length < shared.size()) {
+            this.sharedRevisions = Arrays.copyOf(this.sharedRevisions, shared.size());
+        }
+
+        for (int index = 0; index < shared.size(); index++) {
+            Line<?> line = shared.line(index);
+            if (line == null || overlaid.get(index)) {
+                continue;
+            }
+
+            boolean due = (lines == null || lines.get(index) || this.deferredLines.get(index))
+                    && (animations || line.getAnimation() == null);
+            if (due && this.sharedRevisions[index] == shared.revision(index)) {
+                this.deferredLines.clear(index);
+                if (metrics) {
+                    BoardMetrics.get().recordSkippedLine();
+                }
+            } else if (due && withinBudget(this.budget, line)) {
+                updateLine(index, trackFrame(index, line.getAnimation(), adapt(shared.content(index))));
+                this.sharedRevisions[index] = shared.revision(index);
+            } else {
+                due = false;
+            }
+
+            if (visitor != null) {
+                visitor.visit(index, line.getRefreshPeriod(), due);
+            }
+        }
+
+        for (Line<?> line : overlayLines) {
+            int index = line.getIndex();
+            boolean due = (lines == null || lines.get(index) || this.deferredLines.get(index))
+                    && (animations || line.getAnimation() == null);
+            if (due && !withinBudget(this.budget, line)) {
+                due = false;
+            }
+            if (due) {
+                renderLine(adapter, line, metrics);
+            }
+            if (index < this.sharedRevisions.length) {
+                // the shared line has to be rendered again once the overlay is gone
+                this.sharedRevisions[index] = 0;
+            }
+
+            if (visitor != null) {
+                visitor.visit(index, line.getRefreshPeriod(), due);
             }
         }
     }
 
-    public void updateTitle() {
-        updateTitle(this.getTitle());
+    /**
+     * Check if this board only needs to be rendered when its body changes,
+     * which is when its body is a {@link ReactiveBody} without animated lines,
+     * its title isn't animated and it uses the default update.
+     *
+     * @return true if the board doesn't need to be polled
+     */
+    public boolean isReactive() {
+        ReactiveBody<?> body = this.reactiveBody;
+        return body != null && !this.titleAnimated && !body.hasAnimations()
+                && getUpdate() == BoardUpdate.DEFAULT;
+    }
+
+    /**
+     * Mark the title as changed, it will be fetched again from the adapter on the next flush.
+     *
+     * @see #flushDirty()
+     */
+    public void markTitleDirty() {
+        this.titleDirty = true;
+        bodyChanged();
     }
 
-    public abstract boolean update();
+    /**
+     * Notify the listener of this board that it has dirty lines, only once until it's flushed.
+     * Called by the bound {@link ReactiveBody}.
+     */
+    public void bodyChanged() {
+        Consumer<BoardBase<?>> listener = this.dirtyListener;
+        if (listener != null && this.dirtyQueued.compareAndSet(false, true)) {
+            listener.accept(this);
+        }
+    }
+
+    /**
+     * Set the listener notified when this board has changes to flush,
+     * the BoardManager uses it to queue the dirty boards.
+     *
+     * @param listener the listener, or null
+     */
+    public void setDirtyListener(Consumer<BoardBase<?>> listener) {
+        this.dirtyListener = listener;
+    }
+
+    /**
+     * Render the dirty lines of the bound body and the title if it was marked dirty.
+     */
+    public void flushDirty() {
+        this.dirtyQueued.set(false);
+
+        ReactiveBody<?> body = this.reactiveBody;
+        BitSet lines = body == null ? new BitSet() : body.drainDirty();
+        boolean title = this.titleDirty;
+        this.titleDirty = false;
+
+        if (!lines.isEmpty() || title) {
+            refresh(lines, title, null);
+        }
+    }
+
+    /**
+     * Get the adapter providing the title and the lines of this board.
+     *
+     * @return the adapter
+     */
+    public abstract BoardAdapter getAdapter();
+
+    /**
+     * Convert the content of a line or a title from the adapter to the type of this board.
+     *
+     * @param content the content returned by the adapter
+     * @return the line
+     */
+    protected abstract T adapt(Object content);
+
+    /**
+     * Notified of the lines seen while refreshing a board.
+     *
+     * @see #refresh(BitSet, boolean, RefreshVisitor)
+     */
+    @FunctionalInterface
+    public interface RefreshVisitor {
+
+        /**
+         * @param index         the index of the line, or {@link #TITLE_INDEX} for the title
+         * @param refreshPeriod the refresh period declared by the line, in ticks
+         * @param refreshed     true if the line was updated, false if it was only seen in the body
+         */
+        void visit(int index, long refreshPeriod, boolean refreshed);
+    }
 
 
     public enum ObjectiveMode {
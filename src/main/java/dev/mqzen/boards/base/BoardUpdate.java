@@ -2,6 +2,12 @@ package dev.mqzen.boards.base;
 
 @FunctionalInterface
 public interface BoardUpdate  {
+
+	/**
+	 * The default update, rendering the title and the lines from the adapter of the board
+	 */
+	BoardUpdate DEFAULT = BoardBase::update;
+
 	/**
 	 * How you identify the actions that yet to be executed
 	 * when the board is updated in a scheduled task
@@ -0,0 +1,76 @@
+package dev.mqzen.boards.base;
+
+import dev.mqzen.boards.entity.Body;
+import dev.mqzen.boards.entity.Line;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An adapter whose body is made of a shared layer, the same for every player,
+ * and a small overlay per player replacing some of its lines, e.g: the balance or the rank of the player.
+ * The shared layer is fetched once per tick for all the boards, and each board only
+ * renders the shared lines that changed since its last update plus its own overlay,
+ * so the work per player grows with the size of the overlay instead of the size of the board.
+ *
+ * @see SharedBody
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public interface LayeredBoardAdapter extends BoardAdapter {
+
+	/**
+	 * Gets the lines shown to every player,
+	 * the same instance must be returned every time
+	 *
+	 * @return the shared layer
+	 */
+	@NonNull
+	SharedBody getSharedBody();
+
+	/**
+	 * Gets the lines of a player, replacing the shared lines of the same index.
+	 * A line can also be placed after the last shared line.
+	 *
+	 * @param player the player who will view the lines
+	 * @return the overlay of the player, or null if the player sees the shared lines only
+	 */
+	@Nullable
+	Body<?> getOverlay(Player player);
+
+	/**
+	 * The shared lines with the overlay of the player applied,
+	 * only used when the board isn't rendered through its layers.
+	 *
+	 * @param player the player who will view the lines
+	 * @return the merged body
+	 */
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	default @NonNull Body<?> getBody(Player player) {
+		List<Line<?>> lines = new ArrayList<>(getSharedBody().getBody().getLines());
+		Body<?> overlay = getOverlay(player);
+		if (overlay != null) {
+			for (Line<?> line : overlay.getLines()) {
+				lines.removeIf((shared) -> shared.getIndex() == line.getIndex());
+				lines.add(line);
+			}
+		}
+
+		return new Body() {
+			@Override
+			public void addLine(Object content) {
+				throw new UnsupportedOperationException("A merged body can't be modified");
+			}
+
+			@Override
+			public List<Line<?>> getLines() {
+				return lines;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,135 @@
+package dev.mqzen.boards.base;
+
+import dev.mqzen.boards.util.PacketFields;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+import static dev.mqzen.boards.base.BoardBase.*;
+
+/**
+ * Packets for 1.7 and 1.8 to 1.12, where the texts are plain strings
+ * and every packet is built field by field.
+ */
+class LegacyPacketStrategy extends PacketStrategy {
+
+    private final boolean v1_7 = VERSION_TYPE == VersionType.V1_7;
+    // Objective
+    private final MethodHandle objectiveName = SB_OBJ_FIELDS.setter(String.class, 0);
+    private final MethodHandle objectiveMode = SB_OBJ_FIELDS.setter(int.class, 0);
+    private final MethodHandle objectiveDisplayName = textSetter(SB_OBJ_FIELDS, 1);
+    private final MethodHandle objectiveLegacyDisplayName = SB_OBJ_FIELDS.setter(String.class, 1);
+    private final MethodHandle objectiveNumberFormat = SB_OBJ_FIELDS.setter(Optional.class, 0); // 1.20.5+, previously nullable
+    private final MethodHandle objectiveRenderType = SB_OBJ_FIELDS.setter(ENUM_SB_HEALTH_DISPLAY, 0);
+    // Display objective
+    private final MethodHandle displaySlot = SB_DISPLAY_OBJ_FIELDS.setter(DISPLAY_SLOT_TYPE, 0);
+    private final MethodHandle displayName = SB_DISPLAY_OBJ_FIELDS.setter(String.class, 0);
+    // Score
+    private final MethodHandle scoreOwner = SB_SCORE_FIELDS.setter(String.class, 0);
+    private final MethodHandle scoreObjective = SB_SCORE_FIELDS.setter(String.class, 1);
+    private final MethodHandle scoreValue = SB_SCORE_FIELDS.setter(int.class, 0);
+    private final MethodHandle scoreAction = v1_7 ? SB_SCORE_FIELDS.setter(int.class, 1) : SB_SCORE_FIELDS.setter(ENUM_SB_ACTION, 0);
+    // Team
+    private final MethodHandle teamName = SB_TEAM_FIELDS.setter(String.class, 0);
+    private final MethodHandle teamMode = SB_TEAM_FIELDS.setter(int.class, VERSION_TYPE == VersionType.V1_8 ? 1 : 0);
+    private final MethodHandle teamPlayers = SB_TEAM_FIELDS.setter(Collection.class, 0);
+    private final MethodHandle teamPrefix = textSetter(SB_TEAM_FIELDS, 2);
+    private final MethodHandle teamSuffix = textSetter(SB_TEAM_FIELDS, 3);
+    private final MethodHandle teamVisibility = SB_TEAM_FIELDS.setter(String.class, 4); // 1.8+
+    private final MethodHandle teamCollisions = SB_TEAM_FIELDS.setter(String.class, 5); // 1.9+
+
+    /**
+     * Get the setter of a text field, texts are plain strings before 1.13.
+     */
+    protected MethodHandle textSetter(PacketFields fields, int ordinal) {
+        return fields.setter(String.class, ordinal);
+    }
+
+    /**
+     * Convert a line to the value of a text field.
+     */
+    protected <T> Object text(BoardBase<T> board, T value) throws Throwable {
+        return value != null ? board.serializeLine(value) : "";
+    }
+
+    @Override
+    <T> Object objectivePacket(BoardBase<T> board, ObjectiveMode mode) throws Throwable {
+        Object packet = PACKET_SB_OBJ.invoke();
+
+        set(this.objectiveName, packet, board.getId());
+        set(this.objectiveMode, packet, mode.ordinal());
+
+        if (mode != ObjectiveMode.REMOVE) {
+            set(this.objectiveDisplayName, packet, text(board, board.getTitle()));
+            set(this.objectiveNumberFormat, packet, Optional.empty());
+            set(this.objectiveRenderType, packet, ENUM_SB_HEALTH_DISPLAY_INTEGER);
+        } else if (this.v1_7) {
+            set(this.objectiveLegacyDisplayName, packet, "");
+        }
+
+        return packet;
+    }
+
+    @Override
+    Object displayObjectivePacket(BoardBase<?> board) throws Throwable {
+        Object packet = PACKET_SB_DISPLAY_OBJ.invoke();
+
+        set(this.displaySlot, packet, SIDEBAR_DISPLAY_SLOT); // Position
+        set(this.displayName, packet, board.getId()); // Score Name
+
+        return packet;
+    }
+
+    @Override
+    <T> Object scorePacket(BoardBase<T> board, int score, ScoreboardAction action) throws Throwable {
+        Object packet = PACKET_SB_SET_SCORE.invoke();
+
+        set(this.scoreOwner, packet, COLOR_CODES[score]); // Player Name
+
+        if (this.v1_7) {
+            set(this.scoreAction, packet, action.ordinal());
+        } else {
+            set(this.scoreAction, packet, action == ScoreboardAction.REMOVE ? ENUM_SB_ACTION_REMOVE : ENUM_SB_ACTION_CHANGE);
+        }
+
+        if (action == ScoreboardAction.CHANGE) {
+            set(this.scoreObjective, packet, board.getId()); // Objective Name
+            set(this.scoreValue, packet, score); // Score
+        }
+
+        return packet;
+    }
+
+    @Override
+    <T> Object teamPacket(BoardBase<T> board, int score, TeamMode mode, T prefix, T suffix) throws Throwable {
+        if (mode == TeamMode.ADD_PLAYERS || mode == TeamMode.REMOVE_PLAYERS) {
+            throw new UnsupportedOperationException();
+        }
+
+        Object packet = PACKET_SB_TEAM.invoke();
+
+        set(this.teamName, packet, teamName(board, score)); // Team name
+        set(this.teamMode, packet, mode.ordinal()); // Update mode
+
+        if (mode == TeamMode.REMOVE) {
+            return packet;
+        }
+
+        writeTeamProperties(board, packet, prefix, suffix);
+
+        if (mode == TeamMode.CREATE) {
+            set(this.teamPlayers, packet, Collections.singletonList(COLOR_CODES[score])); // Players in the team
+        }
+
+        return packet;
+    }
+
+    protected <T> void writeTeamProperties(BoardBase<T> board, Object packet, T prefix, T suffix) throws Throwable {
+        set(this.teamPrefix, packet, text(board, prefix));
+        set(this.teamSuffix, packet, text(board, suffix));
+        set(this.teamVisibility, packet, "always");
+        set(this.teamCollisions, packet, "always");
+    }
+}
@@ -0,0 +1,75 @@
+package dev.mqzen.boards.base;
+
+import lombok.Getter;
+
+/**
+ * Caps the scoreboard traffic of a player, in packets and in estimated bytes per second.
+ * The budget is refilled a twentieth of the limits every tick up to one second of traffic,
+ * so a board updated every few ticks can spend the budget of the ticks in between.
+ * <p>
+ * Once the budget is spent, the lines of the board are sent by {@link dev.mqzen.boards.entity.LinePriority priority},
+ * the deferred lines are sent on the next updates and the animated lines are skipped.
+ * <p>
+ * A shared board is charged to the budget of its owner, once per packet whatever its number of viewers.
+ *
+ * @see dev.mqzen.boards.BoardManager#setPacketBudget(int, long)
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class PacketBudget {
+
+	private static final int TICKS_PER_SECOND = 20;
+
+	private final @Getter int packetsPerSecond;
+	private final @Getter long bytesPerSecond;
+	private double packets;
+	private double bytes;
+
+	/**
+	 * @param packetsPerSecond the packets a player can receive per second
+	 * @param bytesPerSecond the estimated bytes a player can receive per second
+	 */
+	public PacketBudget(int packetsPerSecond, long bytesPerSecond) {
+		if(packetsPerSecond < 1 || bytesPerSecond < 1)
+			throw new IllegalArgumentException("The budget must be positive");
+		this.packetsPerSecond = packetsPerSecond;
+		this.bytesPerSecond = bytesPerSecond;
+		this.packets = packetsPerSecond;
+		this.bytes = bytesPerSecond;
+	}
+
+	/**
+	 * Adds the budget of a tick, called by the BoardManager on every tick
+	 */
+	public synchronized void refill() {
+		packets = Math.min(packetsPerSecond, packets + (double) packetsPerSecond / TICKS_PER_SECOND);
+		bytes = Math.min(bytesPerSecond, bytes + (double) bytesPerSecond / TICKS_PER_SECOND);
+	}
+
+	/**
+	 * @return true if no more packets should be sent until the next refill
+	 */
+	public synchronized boolean isExhausted() {
+		return packets < 1 || bytes <= 0;
+	}
+
+	/**
+	 * Spends the budget of a packet sent,
+	 * the budget can go below zero and is then paid back by the next refills
+	 *
+	 * @param size the estimated size of the packet
+	 */
+	public synchronized void consume(int size) {
+		packets--;
+		bytes -= size;
+	}
+
+	public synchronized int getRemainingPackets() {
+		return (int) Math.floor(packets);
+	}
+
+	public synchronized long getRemainingBytes() {
+		return (long) Math.floor(bytes);
+	}
+
+}
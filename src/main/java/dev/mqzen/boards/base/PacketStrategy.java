@@ -0,0 +1,51 @@
+package dev.mqzen.boards.base;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Builds the scoreboard packets for one server version.
+ * The strategy matching the server is selected once when {@link BoardBase} is loaded,
+ * so the version checks are not repeated for every packet and each call site only sees one implementation.
+ *
+ * @see LegacyPacketStrategy
+ * @see V1_13PacketStrategy
+ * @see V1_17PacketStrategy
+ * @see V1_20_3PacketStrategy
+ * @see V1_20_5PacketStrategy
+ */
+abstract class PacketStrategy {
+
+    static PacketStrategy select() {
+        if (BoardBase.SCORE_OPTIONAL_COMPONENTS) {
+            return new V1_20_5PacketStrategy();
+        }
+        if (BoardBase.PACKET_SB_RESET_SCORE != null) {
+            return new V1_20_3PacketStrategy();
+        }
+        if (BoardBase.VersionType.V1_17.isHigherOrEqual()) {
+            return new V1_17PacketStrategy();
+        }
+        if (BoardBase.VersionType.V1_13.isHigherOrEqual()) {
+            return new V1_13PacketStrategy();
+        }
+        return new LegacyPacketStrategy();
+    }
+
+    abstract <T> Object objectivePacket(BoardBase<T> board, BoardBase.ObjectiveMode mode) throws Throwable;
+
+    abstract Object displayObjectivePacket(BoardBase<?> board) throws Throwable;
+
+    abstract <T> Object scorePacket(BoardBase<T> board, int score, BoardBase.ScoreboardAction action) throws Throwable;
+
+    abstract <T> Object teamPacket(BoardBase<T> board, int score, BoardBase.TeamMode mode, T prefix, T suffix) throws Throwable;
+
+    static void set(MethodHandle setter, Object packet, Object value) throws Throwable {
+        if (setter != null) {
+            setter.invokeExact(packet, value);
+        }
+    }
+
+    static String teamName(BoardBase<?> board, int score) {
+        return board.getId() + ':' + score;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.mqzen.boards.base;
+
+/**
+ * How the packets of a board reach its viewers
+ *
+ * @see BoardBase#setTransport(PacketTransport)
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public enum PacketTransport {
+
+	/**
+	 * Through the send method of the player connection, which flushes the netty channel
+	 * after every packet when called outside of its event loop
+	 */
+	CONNECTION,
+
+	/**
+	 * Written straight to the netty channel of the player on its event loop,
+	 * all the packets of a frame are written then flushed once.
+	 * The packets skip the send method of the player connection,
+	 * so the packet listeners hooked into it (not into the channel) don't see them.
+	 * Falls back to {@link #CONNECTION} if the channel can't be accessed on this version.
+	 */
+	CHANNEL
+
+}
@@ -0,0 +1,24 @@
+package dev.mqzen.boards.base;
+
+/**
+ * How the text of the lines is displayed on the sidebar
+ *
+ * @see BoardBase#setRenderMode(RenderMode)
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public enum RenderMode {
+
+	/**
+	 * Each line is a team holding an invisible entry, the text is the prefix and suffix of the team.
+	 * A line costs a score packet and a team packet to create, and a team packet to change.
+	 */
+	TEAMS,
+
+	/**
+	 * The text of each line is the display name of its score, with no team involved.
+	 * A line costs a single score packet to create or to change, 1.20.3+ only.
+	 */
+	SCORE_DISPLAY_NAMES
+
+}
@@ -0,0 +1,149 @@
+package dev.mqzen.boards.base;
+
+import dev.mqzen.boards.animation.core.AnimationRegistry;
+import dev.mqzen.boards.entity.Body;
+import dev.mqzen.boards.entity.Line;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The base layer of a {@link LayeredBoardAdapter}, the lines shown to every player.
+ * The lines are fetched once per update interval of the boards no matter how many boards render them,
+ * the animated lines only move to their next frame on the global tick of the {@link AnimationRegistry},
+ * so the data lines keep their rate while the animations are slowed down. Each line remembers the revision
+ * it last changed at, so a board only renders the shared lines that changed since it last rendered them.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class SharedBody {
+
+	// advanced by the board updater at the start of every update interval
+	private static volatile long interval = 0;
+
+	private final @Getter @NonNull Body<?> body;
+	private long renderInterval = -1;
+	private long animationTick = -1;
+	private long revision = 0;
+	private Snapshot snapshot = new Snapshot(new Line<?>[0], new Object[0], new long[0]);
+
+	public SharedBody(@NonNull Body<?> body) {
+		this.body = Objects.requireNonNull(body, "body");
+	}
+
+	/**
+	 * Starts a new update interval, the shared bodies are fetched again on their next render.
+	 * Called by the board updater.
+	 */
+	public static void nextInterval() {
+		interval++;
+	}
+
+	/**
+	 * Get the lines of this update interval, fetching them if it's the first call of the interval.
+	 * The animated lines keep their frame until the global tick of the animations moves.
+	 *
+	 * @return the rendered lines
+	 */
+	public synchronized @NonNull Snapshot render() {
+		long current = interval;
+		if (current == renderInterval) {
+			return snapshot;
+		}
+		renderInterval = current;
+		long tick = AnimationRegistry.currentTick();
+		boolean animate = tick != animationTick;
+		animationTick = tick;
+
+		List<? extends Line<?>> lines = body.getLines();
+		int size = 0;
+		for (Line<?> line : lines) {
+			size = Math.max(size, line.getIndex() + 1);
+		}
+
+		Snapshot previous = snapshot;
+		Line<?>[] sharedLines = new Line<?>[size];
+		Object[] contents = new Object[size];
+		long[] revisions = Arrays.copyOf(previous.revisions, size);
+		boolean changed = size != previous.size();
+
+		for (Line<?> line : lines) {
+			int index = line.getIndex();
+			Object content = !animate && line.getAnimation() != null
+					&& index < previous.size() && previous.lines[index] == line
+					? previous.contents[index] : line.fetchContent();
+			sharedLines[index] = line;
+			contents[index] = content;
+
+			Object old = index < previous.size() ? previous.contents[index] : null;
+			if (old == null || (old != content && !old.equals(content))) {
+				revisions[index] = ++revision;
+				changed = true;
+			}
+		}
+
+		if (changed) {
+			snapshot = new Snapshot(sharedLines, contents, revisions);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Forces the lines to be fetched again on the next render, even during the same interval
+	 */
+	public synchronized void invalidate() {
+		renderInterval = -1;
+		animationTick = -1;
+	}
+
+	/**
+	 * The shared lines of a tick, immutable so every board can read them without locking
+	 */
+	public static final class Snapshot {
+
+		private final Line<?>[] lines;
+		private final Object[] contents;
+		private final long[] revisions;
+
+		private Snapshot(Line<?>[] lines, Object[] contents, long[] revisions) {
+			this.lines = lines;
+			this.contents = contents;
+			this.revisions = revisions;
+		}
+
+		/**
+		 * @return the number of lines, including the gaps between the indexes of the lines
+		 */
+		public int size() {
+			return contents.length;
+		}
+
+		/**
+		 * @param index the index of the line
+		 * @return the line at this index, or null if there's none
+		 */
+		public Line<?> line(int index) {
+			return lines[index];
+		}
+
+		/**
+		 * @param index the index of the line
+		 * @return the content fetched for this interval, or null if there's no line at this index
+		 */
+		public Object content(int index) {
+			return contents[index];
+		}
+
+		/**
+		 * @param index the index of the line
+		 * @return the revision the line last changed at, always positive
+		 */
+		public long revision(int index) {
+			return revisions[index];
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package dev.mqzen.boards.base;
+
+import dev.mqzen.boards.util.PacketFields;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Packets for 1.13 to 1.16, texts are chat components.
+ */
+class V1_13PacketStrategy extends LegacyPacketStrategy {
+
+    @Override
+    protected MethodHandle textSetter(PacketFields fields, int ordinal) {
+        return fields.componentSetter(ordinal);
+    }
+
+    @Override
+    protected <T> Object text(BoardBase<T> board, T value) throws Throwable {
+        return board.component(value);
+    }
+}
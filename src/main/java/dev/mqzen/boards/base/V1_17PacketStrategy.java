@@ -0,0 +1,44 @@
+package dev.mqzen.boards.base;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Optional;
+
+import static dev.mqzen.boards.base.BoardBase.*;
+
+/**
+ * Packets for 1.17 to 1.20.2, the team properties are held by a separate parameters object
+ * and the score packet has a constructor.
+ */
+class V1_17PacketStrategy extends V1_13PacketStrategy {
+
+    private final MethodHandle teamParameters = SB_TEAM_FIELDS.setter(Optional.class, 0);
+    private final MethodHandle parametersDisplayName = SB_SERIALIZABLE_TEAM_FIELDS.componentSetter(0);
+    private final MethodHandle parametersPrefix = SB_SERIALIZABLE_TEAM_FIELDS.componentSetter(1);
+    private final MethodHandle parametersSuffix = SB_SERIALIZABLE_TEAM_FIELDS.componentSetter(2);
+    private final MethodHandle parametersColor = SB_SERIALIZABLE_TEAM_FIELDS.setter(CHAT_FORMAT_ENUM, 0);
+    private final MethodHandle parametersVisibility = SB_SERIALIZABLE_TEAM_FIELDS.setter(String.class, 0);
+    private final MethodHandle parametersCollisions = SB_SERIALIZABLE_TEAM_FIELDS.setter(String.class, 1);
+    private final MethodHandle parametersVisibilityRule = SB_SERIALIZABLE_TEAM_FIELDS.setter(ENUM_VISIBILITY, 0); // 1.21.5+
+    private final MethodHandle parametersCollisionRule = SB_SERIALIZABLE_TEAM_FIELDS.setter(ENUM_COLLISION_RULE, 0);
+
+    @Override
+    <T> Object scorePacket(BoardBase<T> board, int score, ScoreboardAction action) throws Throwable {
+        Object enumAction = action == ScoreboardAction.REMOVE ? ENUM_SB_ACTION_REMOVE : ENUM_SB_ACTION_CHANGE;
+        return PACKET_SB_SET_SCORE.invoke(enumAction, board.getId(), COLOR_CODES[score], score);
+    }
+
+    @Override
+    protected <T> void writeTeamProperties(BoardBase<T> board, Object packet, T prefix, T suffix) throws Throwable {
+        Object team = PACKET_SB_SERIALIZABLE_TEAM.invoke();
+        // Since the packet is initialized with null values, we need to change more things.
+        set(this.parametersDisplayName, team, text(board, null)); // Display name
+        set(this.parametersColor, team, RESET_FORMATTING); // Color
+        set(this.parametersPrefix, team, text(board, prefix)); // Prefix
+        set(this.parametersSuffix, team, text(board, suffix)); // Suffix
+        set(this.parametersVisibility, team, "always"); // Visibility
+        set(this.parametersCollisions, team, "always"); // Collisions
+        set(this.parametersVisibilityRule, team, ENUM_VISIBILITY_ALWAYS);
+        set(this.parametersCollisionRule, team, ENUM_COLLISION_RULE_ALWAYS);
+        set(this.teamParameters, packet, Optional.of(team));
+    }
+}
@@ -0,0 +1,35 @@
+package dev.mqzen.boards.base;
+
+import static dev.mqzen.boards.base.BoardBase.*;
+
+/**
+ * Packets for 1.20.3 and 1.20.4, scores have a number format and are removed with a reset packet.
+ * With {@link RenderMode#SCORE_DISPLAY_NAMES}, the text of the line is the display name of its score.
+ */
+class V1_20_3PacketStrategy extends V1_17PacketStrategy {
+
+    @Override
+    <T> Object scorePacket(BoardBase<T> board, int score, ScoreboardAction action) throws Throwable {
+        String owner = COLOR_CODES[score];
+
+        if (action == ScoreboardAction.REMOVE) {
+            return PACKET_SB_RESET_SCORE.invoke(owner, board.getId());
+        }
+
+        T scoreFormat = board.getScoreText(score);
+        Object format = scoreFormat != null
+                ? FIXED_NUMBER_FORMAT.invoke(board.component(scoreFormat))
+                : BLANK_NUMBER_FORMAT;
+
+        Object displayName = board.getRenderMode() == RenderMode.SCORE_DISPLAY_NAMES
+                ? board.component(board.getLineByScore(score))
+                : null;
+
+        return setScorePacket(owner, board.getId(), score, displayName, format);
+    }
+
+    protected Object setScorePacket(String owner, String objective, int score, Object displayName, Object format)
+            throws Throwable {
+        return PACKET_SB_SET_SCORE.invoke(owner, objective, score, displayName, format);
+    }
+}
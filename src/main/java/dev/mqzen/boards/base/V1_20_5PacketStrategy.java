@@ -0,0 +1,17 @@
+package dev.mqzen.boards.base;
+
+import java.util.Optional;
+
+import static dev.mqzen.boards.base.BoardBase.PACKET_SB_SET_SCORE;
+
+/**
+ * Packets for 1.20.5+, the optional fields of the score packet are of type {@link Optional}.
+ */
+class V1_20_5PacketStrategy extends V1_20_3PacketStrategy {
+
+    @Override
+    protected Object setScorePacket(String owner, String objective, int score, Object displayName, Object format)
+            throws Throwable {
+        return PACKET_SB_SET_SCORE.invoke(owner, objective, score, Optional.ofNullable(displayName), Optional.of(format));
+    }
+}
@@ -0,0 +1,180 @@
+package dev.mqzen.boards.base;
+
+import io.netty.channel.Channel;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Caches the NMS connection of a player viewing a board,
+ * so it's resolved once instead of for every packet sent.
+ * The cache is dropped as soon as the netty channel is closed (the player quit),
+ * and can be invalidated manually if the connection of the player was replaced.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class ViewerConnection {
+
+	private final @Getter @NonNull Player player;
+	private volatile @Nullable Object handle;
+	private volatile @Nullable Channel channel;
+	private volatile boolean lagging;
+	// the number of lines the client knew when it started lagging
+	private int knownSize;
+	private final BitSet staleScores = new BitSet();
+	private boolean staleTitle;
+
+	ViewerConnection(@NonNull Player player) {
+		this.player = player;
+	}
+
+	/**
+	 * Get the netty channel of the player
+	 *
+	 * @return the channel, or null if the player is offline
+	 * or the channel can't be accessed on this version
+	 */
+	public @Nullable Channel getChannel() {
+		try {
+			return resolve() != null ? this.channel : null;
+		} catch (Throwable t) {
+			throw new RuntimeException("Unable to resolve the player connection", t);
+		}
+	}
+
+	/**
+	 * Checks whether the cached connection is still usable
+	 *
+	 * @return true if packets sent through this connection will reach the player
+	 */
+	public boolean isConnected() {
+		Channel channel = this.channel;
+		return this.handle != null && (channel != null ? channel.isOpen() : this.player.isOnline());
+	}
+
+	/**
+	 * Checks whether the netty channel can take more packets without queueing them in memory
+	 *
+	 * @return false if the outbound buffer of the channel is full
+	 */
+	public boolean isWritable() {
+		Channel channel = this.channel;
+		return channel == null || channel.isWritable();
+	}
+
+	/**
+	 * @return true if packets were held back from this viewer because its channel wasn't writable
+	 */
+	public boolean isLagging() {
+		return this.lagging;
+	}
+
+	// Remember the scores and the title changed by packets this viewer didn't receive,
+	// only their latest state is sent once the channel drains
+	void holdBack(int knownSize, BitSet scores, boolean title) {
+		if (!this.lagging) {
+			this.lagging = true;
+			this.knownSize = knownSize;
+		}
+		this.staleScores.or(scores);
+		this.staleTitle |= title;
+	}
+
+	void caughtUp() {
+		this.lagging = false;
+		this.staleScores.clear();
+		this.staleTitle = false;
+	}
+
+	int getKnownSize() {
+		return this.knownSize;
+	}
+
+	BitSet getStaleScores() {
+		return this.staleScores;
+	}
+
+	boolean isStaleTitle() {
+		return this.staleTitle;
+	}
+
+	/**
+	 * Drops the cached connection, it will be resolved again
+	 * on the next packet sent if the player is still online
+	 */
+	public void invalidate() {
+		this.handle = null;
+		this.channel = null;
+	}
+
+	void sendPacket(Object packet) throws Throwable {
+		Object handle = resolve();
+		if (handle != null) {
+			BoardBase.SEND_PACKET.invoke(handle, packet);
+		}
+	}
+
+	/**
+	 * Write packets to the netty channel then flush it once, on the event loop of the channel
+	 * so the calling thread never waits on the network.
+	 * The packets are sent through the connection if the channel can't be accessed.
+	 *
+	 * @param packets the packets, in order
+	 */
+	void writePackets(List<Object> packets) throws Throwable {
+		Object handle = resolve();
+		if (handle == null) {
+			return;
+		}
+
+		Channel channel = this.channel;
+		if (channel == null) {
+			for (Object packet : packets) {
+				BoardBase.SEND_PACKET.invoke(handle, packet);
+			}
+			return;
+		}
+
+		Object[] batch = packets.toArray();
+		Runnable write = () -> {
+			for (Object packet : batch) {
+				channel.write(packet, channel.voidPromise());
+			}
+			channel.flush();
+		};
+
+		if (channel.eventLoop().inEventLoop()) {
+			write.run();
+		} else {
+			channel.eventLoop().execute(write);
+		}
+	}
+
+	private @Nullable Object resolve() throws Throwable {
+		if (isConnected()) {
+			return this.handle;
+		}
+
+		invalidate();
+		if (!this.player.isOnline()) {
+			return null;
+		}
+
+		Object entityPlayer = BoardBase.PLAYER_GET_HANDLE.invoke(this.player);
+		Object handle = BoardBase.PLAYER_CONNECTION.invoke(entityPlayer);
+
+		if (BoardBase.CONNECTION_NETWORK_MANAGER != null) {
+			Object networkManager = BoardBase.CONNECTION_NETWORK_MANAGER.invoke(handle);
+			this.channel = (Channel) BoardBase.NETWORK_MANAGER_CHANNEL.invoke(networkManager);
+		}
+
+		this.handle = handle;
+		return handle;
+	}
+
+}
@@ -4,7 +4,8 @@ import dev.mqzen.boards.BoardManager;
 import dev.mqzen.boards.base.BoardAdapter;
 import dev.mqzen.boards.base.BoardBase;
 import dev.mqzen.boards.base.BoardUpdate;
-import dev.mqzen.boards.entity.Line;
+import dev.mqzen.boards.base.RenderMode;
+import dev.mqzen.boards.util.BoundedCache;
 import dev.mqzen.boards.util.FastReflection;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
@@ -25,6 +26,8 @@ public class AdventureBoard extends BoardBase<Component> {
 
     private static final MethodHandle COMPONENT_METHOD;
     private static final Object EMPTY_COMPONENT;
+    private static final BoundedCache<Component, Object> COMPONENT_CACHE = new BoundedCache<>(1024);
+    private static final BoundedCache<Component, String> LEGACY_CACHE = new BoundedCache<>(1024);
 
     static {
 
@@ -46,8 +49,13 @@ public class AdventureBoard extends BoardBase<Component> {
         }
     }
     private final BoardAdapter adapter;
+    private boolean legacyContent = false;
     public AdventureBoard(Player player, BoardAdapter adapter) {
-        super(player);
+        this(player, adapter, RenderMode.TEAMS);
+    }
+
+    public AdventureBoard(Player player, BoardAdapter adapter, RenderMode renderMode) {
+        super(player, renderMode);
         this.adapter = adapter;
 
         if (!update()) {
@@ -74,10 +82,14 @@ public class AdventureBoard extends BoardBase<Component> {
             return EMPTY_COMPONENT;
         }
 
+        return COMPONENT_CACHE.get(component, AdventureBoard::convert);
+    }
+
+    private static Object convert(Component component) throws Throwable {
         // If the server isn't running adventure natively, we convert the component to legacy text
         // and then to a Minecraft chat component
         if (!ADVENTURE_SUPPORT) {
-            String legacy = serializeLine(component);
+            String legacy = LEGACY_CACHE.get(component, LegacyComponentSerializer.legacySection()::serialize);
 
             return Array.get(COMPONENT_METHOD.invoke(legacy), 0);
         }
@@ -87,7 +99,31 @@ public class AdventureBoard extends BoardBase<Component> {
 
     @Override
     protected String serializeLine(Component value) {
-       return LegacyComponentSerializer.legacySection().serialize(value);
+        try {
+            return LEGACY_CACHE.get(value, LegacyComponentSerializer.legacySection()::serialize);
+        } catch (Throwable t) {
+            throw new RuntimeException("Unable to serialize line", t);
+        }
+    }
+
+    /**
+     * Get the cache of the components converted to Minecraft components,
+     * shared by all the boards, its stats can be used to size it.
+     *
+     * @return the conversion cache
+     */
+    public static BoundedCache<Component, Object> getComponentCache() {
+        return COMPONENT_CACHE;
+    }
+
+    /**
+     * Get the cache of the components serialized to legacy text,
+     * used on servers that don't run adventure natively or don't support components in packets.
+     *
+     * @return the legacy serialization cache
+     */
+    public static BoundedCache<Component, String> getLegacyCache() {
+        return LEGACY_CACHE;
     }
 
     @Override
@@ -96,21 +132,19 @@ public class AdventureBoard extends BoardBase<Component> {
     }
 
     @Override
-    public boolean update() {
-        try {
-            updateTitle((Component) adapter.title(getPlayer()).get().orElseThrow());
-            for (Line<?> line : adapter.getBody(getPlayer()).getLines()) {
-                updateLine(line.getIndex(), (Component) line.fetchContent());
-            }
-            return true;
-        } catch (ClassCastException e) {
-            for (Line<?> line : adapter.getBody(getPlayer()).getLines()) {
-                updateLine(line.getIndex(), deserialize(line.fetchContent()));
-            }
-            updateTitle(deserialize(adapter.title(getPlayer()).get().orElseThrow()));
-            return false;
+    protected boolean render() {
+        super.render();
+        return !legacyContent;
+    }
+
+    @Override
+    protected Component adapt(Object content) {
+        if (content instanceof Component) {
+            return (Component) content;
         }
 
+        legacyContent = true;
+        return deserialize(content);
     }
 
     private Component deserialize(Object o) {
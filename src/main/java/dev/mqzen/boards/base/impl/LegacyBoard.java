@@ -4,7 +4,7 @@ import dev.mqzen.boards.BoardManager;
 import dev.mqzen.boards.base.BoardAdapter;
 import dev.mqzen.boards.base.BoardBase;
 import dev.mqzen.boards.base.BoardUpdate;
-import dev.mqzen.boards.entity.Line;
+import dev.mqzen.boards.base.RenderMode;
 import dev.mqzen.boards.util.FastReflection;
 import lombok.Getter;
 import org.bukkit.ChatColor;
@@ -38,7 +38,11 @@ public class LegacyBoard extends BoardBase<String> {
      */
     private final BoardAdapter adapter;
     public LegacyBoard(Player player, BoardAdapter adapter) {
-        super(player);
+        this(player, adapter, RenderMode.TEAMS);
+    }
+
+    public LegacyBoard(Player player, BoardAdapter adapter, RenderMode renderMode) {
+        super(player, renderMode);
         this.adapter = adapter;
         update();
     }
@@ -137,12 +141,8 @@ public class LegacyBoard extends BoardBase<String> {
     }
 
     @Override
-    public boolean update() {
-        for (Line<?> line : adapter.getBody(getPlayer()).getLines()) {
-            updateLine(line.getIndex(), (String) line.fetchContent());
-        }
-        updateTitle((String) adapter.title(getPlayer()).get().orElseThrow());
-        return true;
+    protected String adapt(Object content) {
+        return (String) content;
     }
 
 
@@ -3,8 +3,10 @@ package dev.mqzen.boards.entity;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import net.md_5.bungee.api.ChatColor;
+import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -40,6 +42,19 @@ public interface Body<T> {
         return new BodyImplementation.AdventureBody(components);
     }
     
+    static <T> BodyImplementation.TemplateBody<T> template(Player player, Map<String, ? extends Placeholder> placeholders,
+                                                           List<? extends Template<T>> templates) {
+        return new BodyImplementation.TemplateBody<>(player, placeholders, templates);
+    }
+
+    static ReactiveBody.LegacyReactiveBody reactiveLegacy(String... lines) {
+        return new ReactiveBody.LegacyReactiveBody(List.of(lines));
+    }
+
+    static ReactiveBody.AdventureReactiveBody reactiveAdventure(Component... components) {
+        return new ReactiveBody.AdventureReactiveBody(List.of(components));
+    }
+
     @Getter
     abstract class BodyImplementation<T> implements Body<T>{
         private final List<Line<T>> lines;
@@ -78,5 +93,27 @@ public interface Body<T> {
                 getLines().add(Line.adventure(content, lastIndex));
             }
         }
+
+        /**
+         * A body of {@link Template} lines, bound to the player it's created for.
+         * Keep the body of each player instead of creating it on every update,
+         * or the templates are rendered from scratch each time.
+         */
+        public static class TemplateBody<T> extends BodyImplementation<T>{
+
+            public TemplateBody(Player player, Map<String, ? extends Placeholder> placeholders,
+                                List<? extends Template<T>> templates) {
+                super();
+                for (Template<T> template : templates) {
+                    getLines().add(Line.template(template.bind(player, placeholders), getLines().size()));
+                }
+            }
+
+            @Override
+            public void addLine(T content) {
+                int lastIndex = getLines().size();
+                getLines().add(new Line.LineImplementation<>(content, lastIndex));
+            }
+        }
     }
 }
@@ -4,6 +4,10 @@ import dev.mqzen.boards.animation.core.Animation;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.text.Component;
+import org.bukkit.ChatColor;
+
+import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * @Author <a href="https://github.com/Cobeine">Cobeine</a>
@@ -22,6 +26,27 @@ public interface Line<T> {
 
     void setAnimation(Animation<T> animation);
 
+    /**
+     * The number of ticks between two refreshes of this line, used by
+     * {@link dev.mqzen.boards.scheduler.TimingWheelScheduler}.
+     * 0 follows the update interval of the board, a negative period renders the line only once.
+     *
+     * @return the refresh period in ticks
+     */
+    default long getRefreshPeriod() {
+        return 0L;
+    }
+
+    /**
+     * The order this line is sent in when the traffic of the player is capped,
+     * animated lines are {@link LinePriority#LOW} and the others {@link LinePriority#NORMAL} by default.
+     *
+     * @return the priority of this line
+     */
+    default LinePriority getPriority() {
+        return getAnimation() == null ? LinePriority.NORMAL : LinePriority.LOW;
+    }
+
     default T fetchContent(){
         return getAnimation() == null ? getContent() : getAnimation().fetchNextChange();
     }
@@ -32,18 +57,34 @@ public interface Line<T> {
     static LineImplementation.AdventureLine adventure(Component content, int index){
         return new LineImplementation.AdventureLine(content, index);
     }
+    static <T> LineImplementation.TemplateLine<T> template(Template.Instance<T> template, int index){
+        return new LineImplementation.TemplateLine<>(template, index);
+    }
+    static LineImplementation.LegacyValueLine legacyValue(String label, Supplier<String> value, int index){
+        return new LineImplementation.LegacyValueLine(label, value, index);
+    }
+    static LineImplementation.AdventureValueLine adventureValue(Component label, Supplier<Component> value, int index){
+        return new LineImplementation.AdventureValueLine(label, value, index);
+    }
     @Getter
     @Setter
      class LineImplementation<T> implements Line<T>{
         private T content;
         private int index;
         private Animation<T> animation;
+        private long refreshPeriod;
+        private LinePriority priority;
          public LineImplementation(T content, int index) {
              this.content = content;
              this.index = index;
              this.animation = null;
          }
 
+        @Override
+        public LinePriority getPriority() {
+            return priority != null ? priority : Line.super.getPriority();
+        }
+
         public static class LegacyLine extends LineImplementation<String>{
             public LegacyLine(String content, int index) {
                 super(content, index);
@@ -54,5 +95,101 @@ public interface Line<T> {
                 super(content, index);
             }
         }
+
+        /**
+         * A line rendering a {@link Template}, its content is only rebuilt when a placeholder value changed.
+         */
+        public static class TemplateLine<T> extends LineImplementation<T>{
+            @Getter
+            private final Template.Instance<T> template;
+
+            public TemplateLine(Template.Instance<T> template, int index) {
+                super(null, index);
+                this.template = template;
+            }
+
+            @Override
+            public T getContent() {
+                return template.render();
+            }
+        }
+
+        /**
+         * A line made of a static label and a value, e.g: {@code "Kills:"} and {@code "12"}.
+         * On 1.20.3+ the value is displayed in the score column on the right of the label,
+         * so a change of the value only sends the score of the line and the label is never sent again.
+         * On older versions, the value is appended to the label like a regular line.
+         */
+        public abstract static class ValueLine<T> extends LineImplementation<T>{
+            private final Supplier<? extends T> value;
+
+            protected ValueLine(T label, Supplier<? extends T> value, int index) {
+                super(label, index);
+                this.value = Objects.requireNonNull(value, "value");
+            }
+
+            /**
+             * @return the static part of the line
+             */
+            public T getLabel() {
+                return getContent();
+            }
+
+            /**
+             * @return the current value of the line
+             */
+            public T fetchValue() {
+                return value.get();
+            }
+
+            /**
+             * The content of the line when the value can't be displayed on its own
+             *
+             * @return the label followed by the value
+             */
+            @Override
+            public T fetchContent() {
+                return join(getLabel(), fetchValue());
+            }
+
+            protected abstract T join(T label, T value);
+        }
+
+        /**
+         * The {@code &} color codes of the label and of each value are translated, like the lines of a legacy body
+         */
+        public static class LegacyValueLine extends ValueLine<String>{
+            public LegacyValueLine(String label, Supplier<String> value, int index) {
+                super(ChatColor.translateAlternateColorCodes('&', label), value, index);
+            }
+
+            @Override
+            public String fetchValue() {
+                String value = super.fetchValue();
+                return value == null ? "" : ChatColor.translateAlternateColorCodes('&', value);
+            }
+
+            @Override
+            protected String join(String label, String value) {
+                return label + ' ' + value;
+            }
+        }
+
+        public static class AdventureValueLine extends ValueLine<Component>{
+            public AdventureValueLine(Component label, Supplier<Component> value, int index) {
+                super(label, value, index);
+            }
+
+            @Override
+            public Component fetchValue() {
+                Component value = super.fetchValue();
+                return value == null ? Component.empty() : value;
+            }
+
+            @Override
+            protected Component join(Component label, Component value) {
+                return label.append(Component.space()).append(value);
+            }
+        }
     }
 }
@@ -0,0 +1,26 @@
+package dev.mqzen.boards.entity;
+
+/**
+ * The order the lines are sent in when the traffic of a player is capped by a
+ * {@link dev.mqzen.boards.base.PacketBudget}.
+ * Once the budget is spent, the {@link #HIGH} and {@link #NORMAL} lines are deferred
+ * to the next updates and the {@link #LOW} lines are skipped.
+ */
+public enum LinePriority {
+
+    /**
+     * The data the player relies on, e.g: the balance or the current objective
+     */
+    HIGH,
+
+    /**
+     * The lines without animation, by default
+     */
+    NORMAL,
+
+    /**
+     * Cosmetic lines, the animated lines by default
+     */
+    LOW
+
+}
@@ -0,0 +1,17 @@
+package dev.mqzen.boards.entity;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Resolves the value of a placeholder of a {@link Template} for a player.
+ * The value is converted with {@link String#valueOf(Object)} and inserted as is,
+ * color codes in the value aren't translated.
+ *
+ * @see Template
+ */
+@FunctionalInterface
+public interface Placeholder {
+
+    Object resolve(Player player);
+
+}
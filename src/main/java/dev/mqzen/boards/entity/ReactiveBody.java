@@ -0,0 +1,197 @@
+package dev.mqzen.boards.entity;
+
+import dev.mqzen.boards.animation.core.Animation;
+import dev.mqzen.boards.base.BoardBase;
+import net.kyori.adventure.text.Component;
+import net.md_5.bungee.api.ChatColor;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A mutable body that pushes its changes to the board showing it,
+ * instead of being polled by the board on every update.
+ * The lines are stored in an array and every changed line is marked dirty,
+ * the board it is bound to is notified on the first change and only renders the dirty lines.
+ * <p>
+ * The adapter must return the same instance for a player,
+ * the body is bound to the board the first time it is rendered.
+ *
+ * @param <T> the type of the lines
+ * @see BoardBase#isReactive()
+ */
+public abstract class ReactiveBody<T> implements Body<T> {
+
+    @SuppressWarnings("unchecked")
+    private Line<T>[] lines = new Line[8];
+    private int size = 0;
+    private final BitSet dirty = new BitSet();
+    private volatile BoardBase<?> owner;
+
+    /**
+     * Format the content of a line before it's stored.
+     *
+     * @param content the content
+     * @return the formatted content
+     */
+    protected abstract T format(T content);
+
+    @Override
+    public synchronized void addLine(T content) {
+        if (size == lines.length) {
+            lines = Arrays.copyOf(lines, size * 2);
+        }
+        int index = size++;
+        lines[index] = new ReactiveLine<>(this, format(content), index);
+        markDirty(index);
+    }
+
+    /**
+     * Get a view of the lines, following the line replacements but not the added lines.
+     *
+     * @return the lines
+     */
+    @Override
+    public synchronized List<Line<T>> getLines() {
+        return Collections.unmodifiableList(Arrays.asList(lines).subList(0, size));
+    }
+
+    @Override
+    public synchronized void setLine(int index, Line<T> line) {
+        Objects.requireNonNull(line, "line");
+        if (index < 0 || index >= size) return;
+        line.setIndex(index);
+        lines[index] = line;
+        markDirty(index);
+    }
+
+    /**
+     * Change the content of a line, the board is only notified if it's different.
+     *
+     * @param index   the index of the line
+     * @param content the new content
+     */
+    public void setContent(int index, T content) {
+        Line<T> line;
+        synchronized (this) {
+            if (index < 0 || index >= size) return;
+            line = lines[index];
+        }
+        line.setContent(format(content));
+        if (!(line instanceof ReactiveLine)) {
+            markDirty(index);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return true if one of the lines is animated, and must be polled on every update
+     */
+    public synchronized boolean hasAnimations() {
+        for (int i = 0; i < size; i++) {
+            if (lines[i].getAnimation() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bind this body to the board showing it, only the last bound board is notified of the changes.
+     *
+     * @param board the board
+     */
+    public void bind(BoardBase<?> board) {
+        this.owner = board;
+    }
+
+    public BoardBase<?> getOwner() {
+        return owner;
+    }
+
+    /**
+     * Get and clear the lines that changed since the last call.
+     *
+     * @return the indexes of the dirty lines
+     */
+    public synchronized BitSet drainDirty() {
+        BitSet drained = (BitSet) dirty.clone();
+        dirty.clear();
+        return drained;
+    }
+
+    void markDirty(int index) {
+        boolean notify;
+        synchronized (this) {
+            notify = dirty.isEmpty();
+            dirty.set(index);
+        }
+
+        BoardBase<?> board = owner;
+        if (notify && board != null) {
+            board.bodyChanged();
+        }
+    }
+
+    /**
+     * A line of a reactive body, marking itself dirty when its content or animation changes.
+     */
+    public static class ReactiveLine<T> extends Line.LineImplementation<T> {
+
+        private final ReactiveBody<T> body;
+
+        public ReactiveLine(ReactiveBody<T> body, T content, int index) {
+            super(content, index);
+            this.body = body;
+        }
+
+        @Override
+        public void setContent(T content) {
+            if (Objects.equals(getContent(), content)) {
+                return;
+            }
+            super.setContent(content);
+            body.markDirty(getIndex());
+        }
+
+        @Override
+        public void setAnimation(Animation<T> animation) {
+            super.setAnimation(animation);
+            body.markDirty(getIndex());
+        }
+    }
+
+    public static class LegacyReactiveBody extends ReactiveBody<String> {
+
+        public LegacyReactiveBody(List<String> lines) {
+            for (String line : lines) {
+                addLine(line);
+            }
+        }
+
+        @Override
+        protected String format(String content) {
+            return ChatColor.translateAlternateColorCodes('&', content);
+        }
+    }
+
+    public static class AdventureReactiveBody extends ReactiveBody<Component> {
+
+        public AdventureReactiveBody(List<Component> lines) {
+            for (Component line : lines) {
+                addLine(line);
+            }
+        }
+
+        @Override
+        protected Component format(Component content) {
+            return content;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package dev.mqzen.boards.entity;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.md_5.bungee.api.ChatColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The content of a line or a title with placeholders, e.g: {@code "&7Kills: &e{kills}"}.
+ * The text is parsed once into its literal segments, with their color codes already translated,
+ * and the names of its placeholders.
+ * <p>
+ * A template is shared by all the players, {@link #bind(Player, Map)} creates the instance
+ * rendering it for one player, which only rebuilds the content when a placeholder value changed
+ * and returns the same content object otherwise, so unchanged lines are skipped right away.
+ *
+ * @param <T> the type of the rendered content
+ * @see Line.LineImplementation.TemplateLine
+ * @see Title.TitleImplementation.TemplateTitle
+ */
+public abstract class Template<T> {
+
+    private final String source;
+    // literals.length == keys.length + 1, a placeholder sits between two literals
+    private final String[] literals;
+    private final String[] keys;
+
+    protected Template(String source) {
+        this.source = Objects.requireNonNull(source, "source");
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int end = c == '{' ? source.indexOf('}', i + 1) : -1;
+            if (end > i + 1 && isKey(source, i + 1, end)) {
+                literals.add(ChatColor.translateAlternateColorCodes('&', literal.toString()));
+                keys.add(source.substring(i + 1, end));
+                literal.setLength(0);
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(ChatColor.translateAlternateColorCodes('&', literal.toString()));
+
+        this.literals = literals.toArray(new String[0]);
+        this.keys = keys.toArray(new String[0]);
+    }
+
+    public static LegacyTemplate legacy(String source) {
+        return new LegacyTemplate(source);
+    }
+
+    public static AdventureTemplate adventure(String source) {
+        return new AdventureTemplate(source);
+    }
+
+    /**
+     * Convert the rendered text, with its colors as section signs, to the content type.
+     * Only called when a placeholder value changed.
+     *
+     * @param text the rendered text
+     * @return the content
+     */
+    protected abstract T convert(String text);
+
+    /**
+     * Create the instance rendering this template for a player.
+     *
+     * @param player       the player the placeholders are resolved for
+     * @param placeholders the placeholders by name, a placeholder without a value is left as is
+     * @return the instance
+     */
+    public Instance<T> bind(Player player, Map<String, ? extends Placeholder> placeholders) {
+        Placeholder[] resolvers = new Placeholder[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            resolvers[i] = placeholders.get(keys[i]);
+        }
+        return new Instance<>(this, player, resolvers);
+    }
+
+    /**
+     * @return the names of the placeholders, in order
+     */
+    public List<String> getKeys() {
+        return List.of(keys);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    private static boolean isKey(String source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '{' + source + '}';
+    }
+
+    /**
+     * A template rendered for one player, remembering the last placeholder values and content.
+     */
+    public static final class Instance<T> {
+
+        private final Template<T> template;
+        private final Player player;
+        private final Placeholder[] resolvers;
+        private final String[] values;
+        private T content;
+
+        private Instance(Template<T> template, Player player, Placeholder[] resolvers) {
+            this.template = template;
+            this.player = player;
+            this.resolvers = resolvers;
+            this.values = new String[resolvers.length];
+        }
+
+        /**
+         * Resolve the placeholders, and rebuild the content only if one of their values changed.
+         *
+         * @return the content, the same object as the last call if nothing changed
+         */
+        public synchronized T render() {
+            boolean changed = content == null;
+            for (int i = 0; i < resolvers.length; i++) {
+                String value = resolvers[i] == null
+                        ? '{' + template.keys[i] + '}'
+                        : String.valueOf(resolvers[i].resolve(player));
+                if (!value.equals(values[i])) {
+                    values[i] = value;
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                StringBuilder builder = new StringBuilder(template.literals[0]);
+                for (int i = 0; i < values.length; i++) {
+                    builder.append(values[i]).append(template.literals[i + 1]);
+                }
+                content = template.convert(builder.toString());
+            }
+            return content;
+        }
+
+        public Template<T> getTemplate() {
+            return template;
+        }
+
+        public Player getPlayer() {
+            return player;
+        }
+
+        /**
+         * @return the values resolved by the last render
+         */
+        public synchronized List<String> getValues() {
+            return Arrays.asList(values.clone());
+        }
+    }
+
+    public static class LegacyTemplate extends Template<String> {
+
+        public LegacyTemplate(String source) {
+            super(source);
+        }
+
+        @Override
+        protected String convert(String text) {
+            return text;
+        }
+    }
+
+    public static class AdventureTemplate extends Template<Component> {
+
+        public AdventureTemplate(String source) {
+            super(source);
+        }
+
+        @Override
+        protected Component convert(String text) {
+            return LegacyComponentSerializer.legacySection().deserialize(text);
+        }
+    }
+}
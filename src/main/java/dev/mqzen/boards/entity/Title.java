@@ -58,23 +58,54 @@ public interface Title<T> {
 	static TitleImplementation.AdventureTitle adventure() {
 		return new TitleImplementation.AdventureTitle();
 	}
+	static <T> TitleImplementation.TemplateTitle<T> template(Template.Instance<T> template) {
+		return new TitleImplementation.TemplateTitle<>(template);
+	}
+
+	/**
+	 * The number of ticks between two refreshes of this title, used by
+	 * {@link dev.mqzen.boards.scheduler.TimingWheelScheduler}.
+	 * 0 follows the update interval of the board, a negative period renders the title only once.
+	 *
+	 * @return the refresh period in ticks
+	 */
+	default long getRefreshPeriod() {
+		return 0L;
+	}
 
 	default boolean hasAnimation() {
 		return loadAnimation().isPresent();
 	}
 
+	/**
+	 * Fetches the content to display this update,
+	 * which is the next change of the animation if the title has one
+	 *
+	 * @return the content of this title for the current update
+	 */
+	default @NonNull Optional<T> fetchContent() {
+		Optional<Animation<T>> animation = loadAnimation();
+		return animation.isPresent() ? Optional.ofNullable(animation.get().fetchNextChange()) : get();
+	}
+
 
 
 	@Setter
 	class TitleImplementation<T> implements Title<T>{
 		 private T content;
 		 private Animation<T> titleAnimation;
+		 private long refreshPeriod;
 		 public TitleImplementation() {
 
 		 }
 		 public TitleImplementation(T content) {
 			 this.content = content;
 		 }
+		 @Override
+		 public long getRefreshPeriod() {
+			 return refreshPeriod;
+		 }
+
 		 @Override
 		 public @NonNull Optional<T> get() {
 			 return Optional.of(content);
@@ -114,6 +145,27 @@ public interface Title<T> {
 				 return this;
 			 }
 		 }
+
+		 /**
+		  * A title rendering a {@link Template}, its content is only rebuilt when a placeholder value changed
+		  */
+		 public static class TemplateTitle<T> extends TitleImplementation<T> {
+
+			 private final Template.Instance<T> template;
+
+			 public TemplateTitle(Template.Instance<T> template) {
+				 this.template = template;
+			 }
+
+			 @Override
+			 public @NonNull Optional<T> get() {
+				 return Optional.of(template.render());
+			 }
+
+			 public Template.Instance<T> getTemplate() {
+				 return template;
+			 }
+		 }
 	 }
 
 
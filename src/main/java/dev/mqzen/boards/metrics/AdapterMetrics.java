@@ -0,0 +1,124 @@
+package dev.mqzen.boards.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The time spent in the code of one adapter class,
+ * summed over all the boards using it
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class AdapterMetrics {
+
+	// higher than the number of lines a sidebar can display
+	static final int MAX_LINES = 32;
+
+	private final Class<?> adapterClass;
+	private final LongAdder titleNanos = new LongAdder();
+	private final LongAdder titleCalls = new LongAdder();
+	private final LongAdder bodyNanos = new LongAdder();
+	private final LongAdder bodyCalls = new LongAdder();
+	private final AtomicLongArray lineNanos = new AtomicLongArray(MAX_LINES);
+	private final AtomicLongArray lineCalls = new AtomicLongArray(MAX_LINES);
+
+	AdapterMetrics(Class<?> adapterClass) {
+		this.adapterClass = adapterClass;
+	}
+
+	void recordTitle(long nanos) {
+		titleNanos.add(nanos);
+		titleCalls.increment();
+	}
+
+	void recordBody(long nanos) {
+		bodyNanos.add(nanos);
+		bodyCalls.increment();
+	}
+
+	void recordLine(int index, long nanos) {
+		if (index < 0 || index >= MAX_LINES) {
+			return;
+		}
+		lineNanos.addAndGet(index, nanos);
+		lineCalls.incrementAndGet(index);
+	}
+
+	public Class<?> getAdapterClass() {
+		return adapterClass;
+	}
+
+	/**
+	 * @return the time spent fetching the title and its content, in nanoseconds
+	 */
+	public long getTitleNanos() {
+		return titleNanos.sum();
+	}
+
+	public long getTitleCalls() {
+		return titleCalls.sum();
+	}
+
+	/**
+	 * @return the time spent in {@code getBody()}, in nanoseconds
+	 */
+	public long getBodyNanos() {
+		return bodyNanos.sum();
+	}
+
+	public long getBodyCalls() {
+		return bodyCalls.sum();
+	}
+
+	/**
+	 * @param index the index of the line
+	 * @return the time spent fetching the content of the line, in nanoseconds
+	 */
+	public long getLineNanos(int index) {
+		return index < 0 || index >= MAX_LINES ? 0 : lineNanos.get(index);
+	}
+
+	public long getLineCalls(int index) {
+		return index < 0 || index >= MAX_LINES ? 0 : lineCalls.get(index);
+	}
+
+	/**
+	 * @return the index of the line the most time was spent in, or -1 if no line was fetched
+	 */
+	public int getSlowestLine() {
+		int slowest = -1;
+		long nanos = 0;
+		for (int i = 0; i < MAX_LINES; i++) {
+			long line = lineNanos.get(i);
+			if (line > nanos) {
+				nanos = line;
+				slowest = i;
+			}
+		}
+		return slowest;
+	}
+
+	/**
+	 * @return the time spent in the title, the body and the lines, in nanoseconds
+	 */
+	public long getTotalNanos() {
+		long total = getTitleNanos() + getBodyNanos();
+		for (int i = 0; i < MAX_LINES; i++) {
+			total += lineNanos.get(i);
+		}
+		return total;
+	}
+
+	void reset() {
+		titleNanos.reset();
+		titleCalls.reset();
+		bodyNanos.reset();
+		bodyCalls.reset();
+		for (int i = 0; i < MAX_LINES; i++) {
+			lineNanos.set(i, 0);
+			lineCalls.set(i, 0);
+		}
+	}
+
+}
@@ -0,0 +1,212 @@
+package dev.mqzen.boards.metrics;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where the time of the board updates goes: how long each run of the update loop takes,
+ * how many boards it updates, the packets they send and which adapters and lines are the slowest.
+ * <p>
+ * Disabled by default, every recording site only reads a volatile flag until it's enabled
+ * with {@link #setEnabled(boolean)}, then the values are recorded with lock-free counters.
+ * Use {@link #report()} to print the offenders.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class BoardMetrics {
+
+	private static final BoardMetrics INSTANCE = new BoardMetrics();
+	private static volatile boolean enabled = false;
+
+	private final Histogram updateLoopNanos = new Histogram();
+	private final Histogram boardsPerTick = new Histogram();
+	private final AtomicInteger boardsThisTick = new AtomicInteger();
+	private final LongAdder[] packets = new LongAdder[PacketType.values().length];
+	private final LongAdder skippedLines = new LongAdder();
+	private final LongAdder skippedFrames = new LongAdder();
+	private final Map<Class<?>, AdapterMetrics> adapters = new ConcurrentHashMap<>();
+
+	private BoardMetrics() {
+		for (int i = 0; i < packets.length; i++) {
+			packets[i] = new LongAdder();
+		}
+	}
+
+	public static @NonNull BoardMetrics get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @return true if the metrics are being recorded
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts or stops recording, the values recorded so far are kept
+	 *
+	 * @param enabled true to record the metrics
+	 * @see #reset()
+	 */
+	public void setEnabled(boolean enabled) {
+		BoardMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Records a run of the update loop, and the boards it updated
+	 *
+	 * @param nanos the duration of the run
+	 */
+	public void recordTick(long nanos) {
+		updateLoopNanos.record(nanos);
+		boardsPerTick.record(boardsThisTick.getAndSet(0));
+	}
+
+	/**
+	 * Records an update of a board by the update loop, called once per board update
+	 *
+	 * @param packets the number of packets of the update, 0 if nothing changed
+	 */
+	public void recordUpdate(int packets) {
+		boardsThisTick.incrementAndGet();
+		if (packets == 0) {
+			skippedFrames.increment();
+		}
+	}
+
+	/**
+	 * @param type the type of the packet
+	 * @param viewers the number of players the packet is sent to
+	 */
+	public void recordPacket(@NonNull PacketType type, int viewers) {
+		packets[type.ordinal()].add(viewers);
+	}
+
+	/**
+	 * Records a line whose content didn't change, so nothing was sent for it
+	 */
+	public void recordSkippedLine() {
+		skippedLines.increment();
+	}
+
+	public void recordTitle(@NonNull Object adapter, long nanos) {
+		adapter(adapter.getClass()).recordTitle(nanos);
+	}
+
+	public void recordBody(@NonNull Object adapter, long nanos) {
+		adapter(adapter.getClass()).recordBody(nanos);
+	}
+
+	public void recordLine(@NonNull Object adapter, int index, long nanos) {
+		adapter(adapter.getClass()).recordLine(index, nanos);
+	}
+
+	private AdapterMetrics adapter(Class<?> type) {
+		AdapterMetrics metrics = adapters.get(type);
+		return metrics != null ? metrics : adapters.computeIfAbsent(type, AdapterMetrics::new);
+	}
+
+	/**
+	 * @return the durations of the runs of the update loop, in nanoseconds
+	 */
+	public @NonNull Histogram getUpdateLoopNanos() {
+		return updateLoopNanos;
+	}
+
+	/**
+	 * @return the number of boards updated by each run of the update loop
+	 */
+	public @NonNull Histogram getBoardsPerTick() {
+		return boardsPerTick;
+	}
+
+	/**
+	 * @param type the type of the packets
+	 * @return the number of packets of this type delivered, counted once per viewer,
+	 * the packets held back from a lagging viewer aren't counted
+	 */
+	public long getPackets(@NonNull PacketType type) {
+		return packets[type.ordinal()].sum();
+	}
+
+	/**
+	 * @return the number of lines skipped because their content didn't change
+	 */
+	public long getSkippedLines() {
+		return skippedLines.sum();
+	}
+
+	/**
+	 * @return the number of board updates that sent nothing
+	 */
+	public long getSkippedFrames() {
+		return skippedFrames.sum();
+	}
+
+	/**
+	 * @return the metrics of every adapter class, the slowest first
+	 */
+	public @NonNull List<AdapterMetrics> getAdapters() {
+		List<AdapterMetrics> list = new ArrayList<>(adapters.values());
+		list.sort(Comparator.comparingLong(AdapterMetrics::getTotalNanos).reversed());
+		return list;
+	}
+
+	public void reset() {
+		updateLoopNanos.reset();
+		boardsPerTick.reset();
+		boardsThisTick.set(0);
+		for (LongAdder counter : packets) {
+			counter.reset();
+		}
+		skippedLines.reset();
+		skippedFrames.reset();
+		adapters.values().forEach(AdapterMetrics::reset);
+	}
+
+	/**
+	 * A summary of the metrics, with the five slowest adapters and their slowest line
+	 *
+	 * @return the report, one value per line
+	 */
+	public @NonNull String report() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Update loop: %d runs, mean %.1fus, p99 %.1fus, max %.1fus%n",
+				updateLoopNanos.getCount(), updateLoopNanos.getMean() / 1000D,
+				updateLoopNanos.getPercentile(0.99) / 1000D, updateLoopNanos.getMax() / 1000D));
+		report.append(String.format("Boards per tick: mean %.1f, max %d%n",
+				boardsPerTick.getMean(), boardsPerTick.getMax()));
+
+		report.append("Packets:");
+		for (PacketType type : PacketType.values()) {
+			report.append(' ').append(type.name().toLowerCase()).append('=').append(getPackets(type));
+		}
+		report.append(System.lineSeparator());
+		report.append(String.format("Skipped: %d unchanged lines, %d empty updates%n",
+				getSkippedLines(), getSkippedFrames()));
+
+		List<AdapterMetrics> slowest = getAdapters();
+		for (AdapterMetrics adapter : slowest.subList(0, Math.min(5, slowest.size()))) {
+			int line = adapter.getSlowestLine();
+			report.append(String.format("  %s: total %.2fms, title %.2fms, body %.2fms",
+					adapter.getAdapterClass().getName(), adapter.getTotalNanos() / 1e6D,
+					adapter.getTitleNanos() / 1e6D, adapter.getBodyNanos() / 1e6D));
+			if (line >= 0) {
+				report.append(String.format(", slowest line #%d %.2fms over %d calls",
+						line, adapter.getLineNanos(line) / 1e6D, adapter.getLineCalls(line)));
+			}
+			report.append(System.lineSeparator());
+		}
+		return report.toString();
+	}
+
+}
@@ -0,0 +1,89 @@
+package dev.mqzen.boards.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of positive values with a bucket per power of two,
+ * precise enough to tell a 50µs update from a 2ms one without storing every sample.
+ * The percentiles are the upper bound of the bucket they fall in.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class Histogram {
+
+	private static final int BUCKETS = 64;
+
+	// bucket i holds the values in [2^(i-1), 2^i), bucket 0 holds 0
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+		count.increment();
+		sum.add(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getSum() {
+		return sum.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) getSum() / count;
+	}
+
+	/**
+	 * Get the value below which a fraction of the recorded values fall
+	 *
+	 * @param fraction the fraction between 0 and 1, e.g: 0.99 for the 99th percentile
+	 * @return the upper bound of the bucket of the percentile, or 0 if nothing was recorded
+	 */
+	public long getPercentile(double fraction) {
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(Math.min(Math.max(fraction, 0D), 1D) * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= Math.max(rank, 1)) {
+				return Math.min(i == 0 ? 0 : (1L << i) - 1, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+}
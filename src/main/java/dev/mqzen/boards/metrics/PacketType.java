@@ -0,0 +1,37 @@
+package dev.mqzen.boards.metrics;
+
+/**
+ * The kinds of scoreboard packets counted by the {@link BoardMetrics}
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public enum PacketType {
+
+	/**
+	 * Creates, removes or renames the objective
+	 */
+	OBJECTIVE,
+
+	/**
+	 * Displays the objective in the sidebar
+	 */
+	DISPLAY_OBJECTIVE,
+
+	/**
+	 * Changes or removes the score of a line
+	 */
+	SCORE,
+
+	/**
+	 * Creates, updates or removes the team holding the text of a line
+	 */
+	TEAM,
+
+	/**
+	 * Wraps the packets of a frame, on 1.19.4+.
+	 * Counted apart from the packets it wraps, which are counted by their own type
+	 */
+	BUNDLE
+
+}
@@ -0,0 +1,180 @@
+package dev.mqzen.boards.scheduler;
+
+import lombok.Getter;
+import org.bukkit.Bukkit;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Stretches the update interval of the boards while the server is overloaded,
+ * and brings it back once the load drops.
+ * <p>
+ * The load is the average milliseconds per tick (MSPT) reported by Paper,
+ * on other servers it's estimated from the time between two runs of the board updater.
+ * As the server waits for the next tick when it's done early, that time never goes below 50ms,
+ * so only the ticks running late can be told: the budget is then the delay tolerated
+ * on top of the 50ms of a tick, e.g: a budget of 45 lowers the rate once the ticks are 95ms apart.
+ * <p>
+ * The animations are slowed down first, the lines showing data are only
+ * updated less often once the animations can't be slowed anymore,
+ * and they're the first to recover.
+ *
+ * @see dev.mqzen.boards.BoardManager#setAdaptiveRate(AdaptiveRate)
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class AdaptiveRate {
+
+	private static final MethodHandle AVERAGE_TICK_TIME;
+	// ticks between two adjustments, so a single slow tick doesn't change the rate
+	private static final int ADJUST_PERIOD = 20;
+	private static final double RECOVERY_RATIO = 0.8D;
+	private static final double TICK_MILLIS = 50D;
+
+	static {
+		MethodHandle averageTickTime = null;
+		try {
+			averageTickTime = MethodHandles.publicLookup().findVirtual(Bukkit.getServer().getClass(),
+					"getAverageTickTime", MethodType.methodType(double.class));
+		} catch (Throwable ignored) {
+			// not a Paper server
+		}
+		AVERAGE_TICK_TIME = averageTickTime;
+	}
+
+	/**
+	 * The MSPT above which the rate is lowered,
+	 * or the delay tolerated between two ticks when the MSPT isn't reported by the server
+	 */
+	private final @Getter double msptBudget;
+
+	/**
+	 * The highest factor the intervals can be multiplied by
+	 */
+	private final @Getter int maxMultiplier;
+
+	/**
+	 * The factor the update interval of the boards is multiplied by
+	 */
+	private volatile @Getter int boardMultiplier = 1;
+
+	/**
+	 * The factor the update interval of the animations is multiplied by,
+	 * on top of the {@link #getBoardMultiplier() board multiplier}
+	 */
+	private volatile @Getter int animationMultiplier = 1;
+
+	/**
+	 * The last measured milliseconds per tick
+	 */
+	private volatile @Getter double mspt = 0D;
+
+	private long lastRun = 0L;
+	// true if the last MSPT was estimated from the time between two runs
+	private boolean estimated = false;
+	private int ticksSinceAdjust = 0;
+
+	/**
+	 * @param msptBudget the MSPT above which the rate is lowered, e.g: 45
+	 * @param maxMultiplier the highest factor the intervals can be multiplied by, a power of two
+	 */
+	public AdaptiveRate(double msptBudget, int maxMultiplier) {
+		if(msptBudget <= 0)
+			throw new IllegalArgumentException("The MSPT budget must be positive");
+		if(maxMultiplier < 1)
+			throw new IllegalArgumentException("The max multiplier must be at least 1");
+		this.msptBudget = msptBudget;
+		this.maxMultiplier = maxMultiplier;
+	}
+
+	public AdaptiveRate(double msptBudget) {
+		this(msptBudget, 8);
+	}
+
+	/**
+	 * Measures the load of the server, and adjusts the rate every second.
+	 * Called by the board updater on every tick.
+	 */
+	public void sample() {
+		long now = System.nanoTime();
+		double measured = measureMspt(now);
+		lastRun = now;
+		if(measured < 0) return;
+		mspt = measured;
+
+		if(++ticksSinceAdjust < ADJUST_PERIOD) return;
+		ticksSinceAdjust = 0;
+
+		// the time between two runs includes the 50ms of a tick
+		double budget = estimated ? TICK_MILLIS + msptBudget : msptBudget;
+		if(measured > budget) {
+			if(animationMultiplier < maxMultiplier) {
+				animationMultiplier = Math.min(animationMultiplier * 2, maxMultiplier);
+			}else if(boardMultiplier < maxMultiplier) {
+				boardMultiplier = Math.min(boardMultiplier * 2, maxMultiplier);
+			}
+		}else if(measured < budget * RECOVERY_RATIO) {
+			if(boardMultiplier > 1) {
+				boardMultiplier /= 2;
+			}else if(animationMultiplier > 1) {
+				animationMultiplier /= 2;
+			}
+		}
+	}
+
+	private double measureMspt(long now) {
+		if(AVERAGE_TICK_TIME != null) {
+			try {
+				double averageTickTime = (double) AVERAGE_TICK_TIME.invoke(Bukkit.getServer());
+				estimated = false;
+				return averageTickTime;
+			} catch (Throwable ignored) {
+				// measured below
+			}
+		}
+
+		estimated = true;
+		if(lastRun == 0L) return -1D;
+		double elapsed = (now - lastRun) / 1_000_000D;
+		// smoothed over about a second
+		return mspt == 0D ? elapsed : mspt + (elapsed - mspt) / ADJUST_PERIOD;
+	}
+
+	/**
+	 * @param interval the configured update interval, in ticks
+	 * @return the interval the boards are currently updated at
+	 */
+	public long boardInterval(long interval) {
+		return interval * boardMultiplier;
+	}
+
+	/**
+	 * @param interval the configured update interval, in ticks
+	 * @return the interval the animations currently move to their next frame at
+	 */
+	public long animationInterval(long interval) {
+		return interval * boardMultiplier * animationMultiplier;
+	}
+
+	/**
+	 * @return true if the boards or the animations are currently slowed down
+	 */
+	public boolean isThrottling() {
+		return boardMultiplier > 1 || animationMultiplier > 1;
+	}
+
+	/**
+	 * Goes back to the configured rate
+	 */
+	public void reset() {
+		boardMultiplier = 1;
+		animationMultiplier = 1;
+		mspt = 0D;
+		lastRun = 0L;
+		estimated = false;
+		ticksSinceAdjust = 0;
+	}
+
+}
@@ -0,0 +1,58 @@
+package dev.mqzen.boards.scheduler;
+
+import dev.mqzen.boards.base.BoardBase;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Decides which of the registered boards are updated on each server tick.
+ * The BoardManager runs its updater every tick and lets the scheduler
+ * pick the boards that are due.
+ *
+ * @see FixedIntervalScheduler
+ * @see ShardedScheduler
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public interface BoardScheduler {
+
+	/**
+	 * Registers a board to be updated by this scheduler
+	 *
+	 * @param board the board to register
+	 */
+	void register(@NonNull BoardBase<?> board);
+
+	/**
+	 * Unregisters a board, it will no longer be updated by this scheduler
+	 *
+	 * @param board the board to unregister
+	 */
+	void unregister(@NonNull BoardBase<?> board);
+
+	/**
+	 * Updates the boards that are due on this tick
+	 *
+	 * @param tick the number of ticks since the updater started
+	 * @param interval the update interval of each board, in ticks
+	 * @param update the action updating a single board
+	 */
+	void tick(long tick, long interval, @NonNull Consumer<BoardBase<?>> update);
+
+	/**
+	 * Updates the boards that are due on this tick, knowing if the animations move on this tick.
+	 * The update already only refreshes the data lines when they don't,
+	 * schedulers refreshing the boards by themselves have to do the same.
+	 *
+	 * @param tick the number of ticks since the updater started
+	 * @param interval the update interval of each board, in ticks
+	 * @param animate false if the animated lines and titles must keep their frame
+	 * @param update the action updating a single board
+	 * @see AdaptiveRate
+	 */
+	default void tick(long tick, long interval, boolean animate, @NonNull Consumer<BoardBase<?>> update) {
+		tick(tick, interval, update);
+	}
+
+}
@@ -0,0 +1,46 @@
+package dev.mqzen.boards.scheduler;
+
+import dev.mqzen.boards.base.BoardBase;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Updates every board on the same tick, once every interval
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class FixedIntervalScheduler implements BoardScheduler {
+
+	private final Set<BoardBase<?>> boards = new LinkedHashSet<>();
+
+	@Override
+	public synchronized void register(@NonNull BoardBase<?> board) {
+		boards.add(board);
+	}
+
+	@Override
+	public synchronized void unregister(@NonNull BoardBase<?> board) {
+		boards.remove(board);
+	}
+
+	@Override
+	public void tick(long tick, long interval, @NonNull Consumer<BoardBase<?>> update) {
+		if (tick % interval != 0) {
+			return;
+		}
+
+		BoardBase<?>[] due;
+		synchronized (this) {
+			due = boards.toArray(new BoardBase<?>[0]);
+		}
+
+		for (BoardBase<?> board : due) {
+			update.accept(board);
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+package dev.mqzen.boards.scheduler;
+
+import dev.mqzen.boards.base.BoardBase;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Spreads the boards over the ticks of the update interval,
+ * so each tick only updates its own bucket of boards instead of
+ * updating all of them on one tick and none on the others.
+ * Each board is still updated once per interval.
+ * <p>
+ * New boards go to the smallest bucket, and once boards are removed
+ * boards are moved from the largest buckets if they became uneven.
+ * The boards are only moved at the start of an interval, so a moved board
+ * is still updated exactly once in each interval. When the interval changes
+ * (e.g: with an {@link AdaptiveRate}), the current round of buckets is finished first
+ * and the boards are spread over the new interval from its next start.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class ShardedScheduler implements BoardScheduler {
+
+	private final List<List<BoardBase<?>>> buckets = new ArrayList<>();
+	private final Map<BoardBase<?>, Integer> bucketOf = new IdentityHashMap<>();
+	// boards were removed since the last rebalance
+	private boolean unbalanced = false;
+	// the bucket updated on the next tick, -1 or past the last bucket between two rounds
+	private int position = -1;
+
+	@Override
+	public synchronized void register(@NonNull BoardBase<?> board) {
+		if (bucketOf.containsKey(board)) {
+			return;
+		}
+		if (buckets.isEmpty()) {
+			buckets.add(new ArrayList<>());
+		}
+		addTo(smallestBucket(), board);
+	}
+
+	@Override
+	public synchronized void unregister(@NonNull BoardBase<?> board) {
+		Integer bucket = bucketOf.remove(board);
+		if (bucket == null) {
+			return;
+		}
+		buckets.get(bucket).remove(board);
+		// rebalanced at the start of the next interval
+		unbalanced = true;
+	}
+
+	@Override
+	public void tick(long tick, long interval, @NonNull Consumer<BoardBase<?>> update) {
+		BoardBase<?>[] due;
+		synchronized (this) {
+			if (position < 0 || position >= buckets.size()) {
+				// a round starts on the first tick of an interval, the boards are only moved between two rounds
+				if (tick % interval != 0) {
+					return;
+				}
+				if (buckets.size() != interval) {
+					reshard((int) interval);
+				} else if (unbalanced) {
+					rebalance();
+				}
+				position = 0;
+			}
+			due = buckets.get(position++).toArray(new BoardBase<?>[0]);
+		}
+
+		for (BoardBase<?> board : due) {
+			update.accept(board);
+		}
+	}
+
+	/**
+	 * @return the number of boards in each bucket, the first bucket is updated on the first tick of the interval
+	 */
+	public synchronized int[] getBucketSizes() {
+		return buckets.stream().mapToInt(List::size).toArray();
+	}
+
+	private void reshard(int shards) {
+		unbalanced = false;
+		List<BoardBase<?>> all = new ArrayList<>(bucketOf.keySet());
+		buckets.clear();
+		bucketOf.clear();
+		for (int i = 0; i < shards; i++) {
+			buckets.add(new ArrayList<>());
+		}
+		for (int i = 0; i < all.size(); i++) {
+			addTo(i % shards, all.get(i));
+		}
+	}
+
+	private void rebalance() {
+		unbalanced = false;
+		while (true) {
+			int smallest = smallestBucket();
+			int largest = 0;
+			for (int i = 1; i < buckets.size(); i++) {
+				if (buckets.get(i).size() > buckets.get(largest).size()) {
+					largest = i;
+				}
+			}
+
+			List<BoardBase<?>> from = buckets.get(largest);
+			if (from.size() - buckets.get(smallest).size() <= 1) {
+				return;
+			}
+			addTo(smallest, from.remove(from.size() - 1));
+		}
+	}
+
+	private int smallestBucket() {
+		int smallest = 0;
+		for (int i = 1; i < buckets.size(); i++) {
+			if (buckets.get(i).size() < buckets.get(smallest).size()) {
+				smallest = i;
+			}
+		}
+		return smallest;
+	}
+
+	private void addTo(int bucket, BoardBase<?> board) {
+		buckets.get(bucket).add(board);
+		bucketOf.put(board, bucket);
+	}
+
+}
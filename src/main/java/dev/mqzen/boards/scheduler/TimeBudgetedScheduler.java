@@ -0,0 +1,150 @@
+package dev.mqzen.boards.scheduler;
+
+import dev.mqzen.boards.base.BoardBase;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Updates the boards until a time budget is spent on each tick,
+ * and resumes from where it stopped on the next tick, so slow adapters
+ * (e.g: stats loaded from a database) can't make a tick longer than the budget
+ * plus the time of a single board.
+ * <p>
+ * The boards are visited in a round-robin order, a board is updated once it's been
+ * at least an interval since its last update, and at least one due board is updated per tick.
+ * Every board gets its turn before any board gets a second one, so none of them starves,
+ * they're only updated less often than the interval while the budget is too small for all of them.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class TimeBudgetedScheduler implements BoardScheduler {
+
+	private final long budgetNanos;
+	private final List<Entry> ring = new ArrayList<>();
+	private final Map<BoardBase<?>, Entry> entries = new IdentityHashMap<>();
+	private int cursor = 0;
+	private long lastTick = 0;
+	private int lastUpdates = 0;
+
+	/**
+	 * @param budget the time that can be spent updating boards on each tick, e.g: 2ms
+	 */
+	public TimeBudgetedScheduler(@NonNull Duration budget) {
+		if (budget.isNegative() || budget.isZero()) {
+			throw new IllegalArgumentException("The budget must be positive");
+		}
+		this.budgetNanos = budget.toNanos();
+	}
+
+	@Override
+	public synchronized void register(@NonNull BoardBase<?> board) {
+		if (entries.containsKey(board)) {
+			return;
+		}
+		// inserted right before the cursor, so it's the last one of the current round
+		Entry entry = new Entry(board, lastTick);
+		ring.add(cursor, entry);
+		entries.put(board, entry);
+		cursor = (cursor + 1) % ring.size();
+	}
+
+	@Override
+	public synchronized void unregister(@NonNull BoardBase<?> board) {
+		Entry entry = entries.remove(board);
+		if (entry == null) {
+			return;
+		}
+		int index = ring.indexOf(entry);
+		ring.remove(index);
+		if (index < cursor) {
+			cursor--;
+		}
+		if (cursor >= ring.size()) {
+			cursor = 0;
+		}
+	}
+
+	@Override
+	public void tick(long tick, long interval, @NonNull Consumer<BoardBase<?>> update) {
+		long deadline = System.nanoTime() + budgetNanos;
+		int updates = 0;
+		int visited = 0;
+
+		while (true) {
+			BoardBase<?> board;
+			synchronized (this) {
+				if (visited >= ring.size()) {
+					break;
+				}
+				Entry entry = ring.get(cursor);
+				cursor = (cursor + 1) % ring.size();
+				visited++;
+
+				if (entry.lastUpdate != Long.MIN_VALUE && tick - entry.lastUpdate < interval) {
+					continue;
+				}
+				entry.lastUpdate = tick;
+				board = entry.board;
+			}
+
+			update.accept(board);
+			updates++;
+			if (System.nanoTime() - deadline >= 0) {
+				break;
+			}
+		}
+
+		synchronized (this) {
+			this.lastTick = tick;
+			this.lastUpdates = updates;
+		}
+	}
+
+	/**
+	 * @return the time that can be spent updating boards on each tick, in nanoseconds
+	 */
+	public long getBudgetNanos() {
+		return budgetNanos;
+	}
+
+	/**
+	 * @return the number of boards updated on the last tick
+	 */
+	public synchronized int getLastUpdates() {
+		return lastUpdates;
+	}
+
+	/**
+	 * @return the most ticks a registered board has gone without an update, since its registration
+	 * if it was never updated, higher than the interval when the budget can't keep up with the boards
+	 */
+	public synchronized long getMaxStaleness() {
+		long staleness = 0;
+		for (Entry entry : ring) {
+			long since = entry.lastUpdate != Long.MIN_VALUE ? entry.lastUpdate : entry.registeredTick;
+			staleness = Math.max(staleness, lastTick - since);
+		}
+		return staleness;
+	}
+
+	private static final class Entry {
+		private final BoardBase<?> board;
+		// the last tick seen by the scheduler when the board was registered
+		private final long registeredTick;
+		// never updated yet
+		private long lastUpdate = Long.MIN_VALUE;
+
+		private Entry(BoardBase<?> board, long registeredTick) {
+			this.board = board;
+			this.registeredTick = registeredTick;
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+package dev.mqzen.boards.scheduler;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel of 4 levels of 64 slots, scheduling values on ticks.
+ * Scheduling and expiring a value is constant time no matter how many values are scheduled,
+ * a value far in the future sits in a higher level and is moved down
+ * to the lower levels as its deadline gets closer.
+ * <p>
+ * Deadlines further than 64^4 ticks are kept in the last level and rescheduled
+ * each time it turns, so they still expire on their exact tick.
+ * This class is not thread safe.
+ *
+ * @param <E> the type of the scheduled values
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class TimingWheel<E> {
+
+	private static final int LEVELS = 4;
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final long MAX_DELTA = (1L << (LEVELS * SLOT_BITS)) - 1;
+
+	private final Node<E>[][] slots;
+	private long now;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	public TimingWheel(long start) {
+		this.slots = new Node[LEVELS][SLOTS];
+		this.now = start;
+	}
+
+	/**
+	 * Schedules a value to expire on a tick,
+	 * a deadline that already passed expires on the next tick
+	 *
+	 * @param value the value
+	 * @param deadline the tick on which the value expires
+	 */
+	public void schedule(@NonNull E value, long deadline) {
+		place(new Node<>(value, Math.max(deadline, now + 1)));
+		size++;
+	}
+
+	/**
+	 * Advances the wheel up to a tick, expiring the values of every tick in between in order
+	 *
+	 * @param tick the tick to advance to
+	 * @param expired the action receiving the expired values
+	 */
+	public void advance(long tick, @NonNull Consumer<E> expired) {
+		if (size == 0) {
+			now = Math.max(now, tick);
+			return;
+		}
+
+		while (now < tick) {
+			now++;
+			cascade(1);
+
+			int slot = (int) (now & SLOT_MASK);
+			Node<E> node = slots[0][slot];
+			slots[0][slot] = null;
+			while (node != null) {
+				Node<E> next = node.next;
+				node.next = null;
+				size--;
+				expired.accept(node.value);
+				node = next;
+			}
+		}
+	}
+
+	/**
+	 * @return the last tick the wheel advanced to
+	 */
+	public long now() {
+		return now;
+	}
+
+	/**
+	 * @return the number of values that haven't expired yet
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		for (Node<E>[] level : slots) {
+			Arrays.fill(level, null);
+		}
+		size = 0;
+	}
+
+	// When the bits of the lower levels roll over, the current slot of the level above
+	// is due and its values are moved down, starting from the highest level that rolled over
+	private void cascade(int level) {
+		if (level >= LEVELS || (now & ((1L << (level * SLOT_BITS)) - 1)) != 0) {
+			return;
+		}
+		cascade(level + 1);
+
+		int slot = (int) ((now >>> (level * SLOT_BITS)) & SLOT_MASK);
+		Node<E> node = slots[level][slot];
+		slots[level][slot] = null;
+		while (node != null) {
+			Node<E> next = node.next;
+			node.next = null;
+			place(node);
+			node = next;
+		}
+	}
+
+	private void place(Node<E> node) {
+		long delta = node.deadline - now;
+		long target = node.deadline;
+		int level = 0;
+
+		if (delta > MAX_DELTA) {
+			delta = MAX_DELTA;
+			target = now + MAX_DELTA;
+		}
+		if (delta > 0) {
+			while (level < LEVELS - 1 && delta >= (1L << ((level + 1) * SLOT_BITS))) {
+				level++;
+			}
+		} else {
+			// Due on the current tick, only happens while cascading right before the tick expires
+			target = now;
+		}
+
+		int slot = (int) ((target >>> (level * SLOT_BITS)) & SLOT_MASK);
+		node.next = slots[level][slot];
+		slots[level][slot] = node;
+	}
+
+	private static final class Node<E> {
+		private final E value;
+		private final long deadline;
+		private Node<E> next;
+
+		private Node(E value, long deadline) {
+			this.value = value;
+			this.deadline = deadline;
+		}
+	}
+
+}
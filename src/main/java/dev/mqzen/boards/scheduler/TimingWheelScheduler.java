@@ -0,0 +1,211 @@
+package dev.mqzen.boards.scheduler;
+
+import dev.mqzen.boards.base.BoardBase;
+import dev.mqzen.boards.base.BoardUpdate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Refreshes each line and title of the boards at its own rate instead of
+ * refreshing the whole board every interval, so a clock line can refresh every second
+ * while a static header is only rendered once.
+ * The refresh rates are taken from {@link dev.mqzen.boards.entity.Line#getRefreshPeriod()}
+ * and {@link dev.mqzen.boards.entity.Title#getRefreshPeriod()}, a period of 0 follows the update interval.
+ * <p>
+ * Every line is an entry of a {@link TimingWheel}, so each tick only touches the lines that are due.
+ * Boards with a custom {@link BoardUpdate} are updated as a whole once every interval.
+ * While an {@link AdaptiveRate} slows the animations down, the animated lines and titles
+ * keep their frame until the animations move and only the other lines are refreshed.
+ *
+ * @since 1.5
+ * @author Mqzen (aka Mqzn)
+ */
+public final class TimingWheelScheduler implements BoardScheduler {
+
+	private static final int FULL = -2;
+
+	private final Map<BoardBase<?>, BoardState> states = new IdentityHashMap<>();
+	private final TimingWheel<Task> wheel = new TimingWheel<>(0);
+	private long interval = 1;
+
+	@Override
+	public synchronized void register(@NonNull BoardBase<?> board) {
+		if (states.containsKey(board)) {
+			return;
+		}
+		BoardState state = new BoardState(board);
+		states.put(board, state);
+		scheduleFull(state, wheel.now() + 1);
+	}
+
+	@Override
+	public synchronized void unregister(@NonNull BoardBase<?> board) {
+		BoardState state = states.remove(board);
+		if (state != null) {
+			// its entries are dropped when they expire
+			state.registered = false;
+		}
+	}
+
+	@Override
+	public void tick(long tick, long interval, @NonNull Consumer<BoardBase<?>> update) {
+		tick(tick, interval, true, update);
+	}
+
+	@Override
+	public synchronized void tick(long tick, long interval, boolean animate, @NonNull Consumer<BoardBase<?>> update) {
+		this.interval = interval;
+
+		Map<BoardState, Due> due = new LinkedHashMap<>();
+		wheel.advance(tick, task -> {
+			if (task.state.registered && task.generation == task.state.generation) {
+				due.computeIfAbsent(task.state, state -> new Due()).add(task.index);
+			}
+		});
+
+		for (Map.Entry<BoardState, Due> entry : due.entrySet()) {
+			BoardState state = entry.getKey();
+			Due lines = entry.getValue();
+			BoardBase<?> board = state.board;
+			if (board.isDeleted()) {
+				continue;
+			}
+
+			if (board.getUpdate() != BoardUpdate.DEFAULT) {
+				// custom updates can't be split per line
+				state.clear();
+				if (lines.full) {
+					update.accept(board);
+				}
+				scheduleFull(state, tick + interval);
+				continue;
+			}
+
+			refresh(state, lines, tick, animate);
+		}
+	}
+
+	/**
+	 * @return the number of lines and titles waiting for their next refresh
+	 */
+	public synchronized int getScheduledCount() {
+		return wheel.size();
+	}
+
+	private void refresh(BoardState state, Due due, long tick, boolean animate) {
+		BoardBase<?> board = state.board;
+		BitSet lines = null;
+		boolean title = true;
+
+		if (due.full) {
+			state.clear();
+		} else {
+			lines = due.lines;
+			title = due.title;
+			state.lines.andNot(lines);
+			state.title &= !title;
+		}
+
+		try {
+			board.beginFrame();
+			try {
+				BitSet requested = lines;
+				boolean titleRequested = title;
+				board.refresh(lines, title, (index, period, refreshed) -> {
+					boolean scheduled = index == BoardBase.TITLE_INDEX ? state.title : state.lines.get(index);
+					if (!refreshed && scheduled) {
+						return;
+					}
+					// a line kept on its frame while the animations are slowed down waits for its next period
+					boolean skipped = !refreshed && (index == BoardBase.TITLE_INDEX ? titleRequested
+							: requested == null || requested.get(index));
+
+					if (index == BoardBase.TITLE_INDEX) {
+						state.title = true;
+					} else {
+						state.lines.set(index);
+					}
+
+					// a line that appeared in the body since the last refresh is rendered on the next tick
+					long deadline = refreshed ? tick + effectivePeriod(period)
+							: skipped ? tick + effectivePeriod(Math.max(period, 0L)) : tick + 1;
+					if (period >= 0 || !refreshed) {
+						wheel.schedule(new Task(state, index), deadline);
+					}
+				}, animate);
+			} finally {
+				board.endFrame();
+			}
+		} catch (Exception ex) {
+			ex.printStackTrace();
+		}
+	}
+
+	private long effectivePeriod(long period) {
+		return period == 0 ? interval : period;
+	}
+
+	private void scheduleFull(BoardState state, long deadline) {
+		if (state.fullScheduled) {
+			return;
+		}
+		state.fullScheduled = true;
+		wheel.schedule(new Task(state, FULL), deadline);
+	}
+
+	private static final class BoardState {
+		private final BoardBase<?> board;
+		// the lines having an entry in the wheel, or rendered once if they are static
+		private final BitSet lines = new BitSet();
+		private boolean title;
+		private boolean fullScheduled;
+		private boolean registered = true;
+		// bumped when all the lines are rendered again, dropping the entries scheduled before
+		private int generation;
+
+		private BoardState(BoardBase<?> board) {
+			this.board = board;
+		}
+
+		private void clear() {
+			generation++;
+			lines.clear();
+			title = false;
+			fullScheduled = false;
+		}
+	}
+
+	private static final class Task {
+		private final BoardState state;
+		private final int index;
+		private final int generation;
+
+		private Task(BoardState state, int index) {
+			this.state = state;
+			this.index = index;
+			this.generation = state.generation;
+		}
+	}
+
+	private static final class Due {
+		private final BitSet lines = new BitSet();
+		private boolean title;
+		private boolean full;
+
+		private void add(int index) {
+			if (index == FULL) {
+				full = true;
+			} else if (index == BoardBase.TITLE_INDEX) {
+				title = true;
+			} else {
+				lines.set(index);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+package dev.mqzen.boards.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded cache evicting the least recently used entries,
+ * recording its hits, misses and evictions so it can be sized.
+ * Values are loaded outside the lock, so two threads missing the same key may both load it.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class BoundedCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maximumSize;
+
+    public BoundedCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<K, V>(Math.min(maximumSize, 256), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the value cached for a key, loading and caching it if absent.
+     *
+     * @param key    the key, must not be null
+     * @param loader the function creating the value if it's not cached
+     * @return the cached or loaded value
+     * @throws Throwable if the value can't be loaded
+     */
+    public V get(K key, Loader<K, V> loader) throws Throwable {
+        V value;
+        synchronized (this.entries) {
+            value = this.entries.get(key);
+        }
+
+        if (value != null) {
+            this.hits.increment();
+            return value;
+        }
+
+        this.misses.increment();
+        value = loader.load(key);
+
+        synchronized (this.entries) {
+            this.entries.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Change the maximum number of entries, the least recently used entries
+     * are evicted right away if the cache is now too large.
+     *
+     * @param maximumSize the new maximum size
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be positive");
+        }
+        synchronized (this.entries) {
+            this.maximumSize = maximumSize;
+            Iterator<K> eldest = this.entries.keySet().iterator();
+            while (this.entries.size() > maximumSize) {
+                eldest.next();
+                eldest.remove();
+                this.evictions.increment();
+            }
+        }
+    }
+
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    public long evictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Get the ratio of lookups that were served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if the cache was never used
+     */
+    public double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
+    /**
+     * Reset the hits, misses and evictions counters.
+     */
+    public void resetStats() {
+        this.hits.reset();
+        this.misses.reset();
+        this.evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache{size=" + size() + '/' + this.maximumSize
+                + ", hitRate=" + String.format("%.3f", hitRate())
+                + ", evictions=" + evictions() + '}';
+    }
+
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws Throwable;
+    }
+}
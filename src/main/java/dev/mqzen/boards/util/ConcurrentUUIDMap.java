@@ -0,0 +1,226 @@
+package dev.mqzen.boards.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A concurrent map keyed by UUIDs, using open addressing over the two longs of the UUIDs
+ * so lookups don't box the key or allocate entries.
+ * Reads and iterations are lock-free and never throw a ConcurrentModificationException,
+ * writes are serialized on the map.
+ * <p>
+ * The keys of a slot are written before its value is published and never rewritten in the same table,
+ * a removed value leaves a tombstone that is only dropped when the table is rebuilt,
+ * so a reader seeing a value always sees the keys it was stored with.
+ *
+ * @param <V> the type of the values
+ */
+public final class ConcurrentUUIDMap<V> {
+
+    private static final Object TOMBSTONE = new Object();
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table = new Table(MIN_CAPACITY);
+    private volatile int size = 0;
+    // live values and tombstones, the table is rebuilt when it's half full
+    private int used = 0;
+
+    /**
+     * Get the value mapped to a key without locking.
+     *
+     * @param key the key
+     * @return the value, or null if there's none
+     */
+    public V get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long most, long least) {
+        Table table = this.table;
+        int slot = table.find(most, least);
+        if (slot < 0) {
+            return null;
+        }
+        Object value = table.values.get(slot);
+        return value == TOMBSTONE ? null : (V) value;
+    }
+
+    public boolean containsKey(UUID key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map a value to a key.
+     *
+     * @param key   the key
+     * @param value the value, must not be null
+     * @return the previous value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V put(UUID key, V value) {
+        Objects.requireNonNull(value, "value");
+        long most = key.getMostSignificantBits();
+        long least = key.getLeastSignificantBits();
+
+        Table table = this.table;
+        int slot = table.find(most, least);
+        if (slot >= 0) {
+            Object previous = table.values.get(slot);
+            table.values.set(slot, value);
+            return (V) previous;
+        }
+
+        if ((used + 1) * 2 > table.capacity()) {
+            table = rebuild(size + 1);
+        }
+        table.insert(most, least, value);
+        used++;
+        size++;
+        return null;
+    }
+
+    /**
+     * Remove the value mapped to a key.
+     *
+     * @param key the key
+     * @return the removed value, or null if there was none
+     */
+    public synchronized V remove(UUID key) {
+        return remove(key, null);
+    }
+
+    /**
+     * Remove the value mapped to a key, only if it's the expected one.
+     *
+     * @param key      the key
+     * @param expected the expected value, or null to remove any value
+     * @return the removed value, or null if nothing was removed
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(UUID key, V expected) {
+        Table table = this.table;
+        int slot = table.find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        if (slot < 0) {
+            return null;
+        }
+
+        Object previous = table.values.get(slot);
+        if (expected != null && previous != expected) {
+            return null;
+        }
+        table.values.set(slot, TOMBSTONE);
+        size--;
+        return (V) previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized void clear() {
+        this.table = new Table(MIN_CAPACITY);
+        this.size = 0;
+        this.used = 0;
+    }
+
+    /**
+     * Visit the values without locking, values added or removed
+     * during the iteration may or may not be visited.
+     *
+     * @param action the action to run for each value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super V> action) {
+        AtomicReferenceArray<Object> values = this.table.values;
+        for (int i = 0; i < values.length(); i++) {
+            Object value = values.get(i);
+            if (value != null && value != TOMBSTONE) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the values
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        forEach(values::add);
+        return values;
+    }
+
+    private Table rebuild(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expected * 4) {
+            capacity <<= 1;
+        }
+
+        Table old = this.table;
+        Table table = new Table(capacity);
+        for (int i = 0; i < old.values.length(); i++) {
+            Object value = old.values.get(i);
+            if (value != null && value != TOMBSTONE) {
+                table.insert(old.keys[i << 1], old.keys[(i << 1) + 1], value);
+            }
+        }
+        this.used = this.size;
+        this.table = table;
+        return table;
+    }
+
+    private static int hash(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Table {
+        // the two longs of the key of each slot, next to each other
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity << 1];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return mask + 1;
+        }
+
+        // the slot of the live value of the key, or -1
+        private int find(long most, long least) {
+            for (int slot = hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+                // reading the value first makes the keys written before it visible
+                Object value = values.get(slot);
+                if (value == null) {
+                    return -1;
+                }
+                if (value != TOMBSTONE && keys[slot << 1] == most && keys[(slot << 1) + 1] == least) {
+                    return slot;
+                }
+            }
+        }
+
+        private void insert(long most, long least, Object value) {
+            for (int slot = hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+                if (values.get(slot) == null) {
+                    keys[slot << 1] = most;
+                    keys[(slot << 1) + 1] = least;
+                    values.set(slot, value);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -97,6 +97,18 @@ public final class FastReflection {
         throw new ClassNotFoundException("No class in " + parentClass.getCanonicalName() + " matches the predicate.");
     }
 
+    public static Optional<Field> optionalField(Class<?> declaringClass, Class<?> fieldType) {
+        for (Class<?> clazz = declaringClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getType() == fieldType) {
+                    field.setAccessible(true);
+                    return Optional.of(field);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
     public static Optional<MethodHandle> optionalConstructor(Class<?> declaringClass, MethodHandles.Lookup lookup, MethodType type) throws IllegalAccessException {
         try {
             return Optional.of(lookup.findConstructor(declaringClass, type));
@@ -0,0 +1,158 @@
+package dev.mqzen.boards.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The precompiled setters of the instance fields of a packet class.
+ * Setters are grouped by field type and indexed by the order the fields are declared in,
+ * so writing a field while building a packet is a type scan and a direct method handle call
+ * instead of a reflective {@link Field#set(Object, Object)}.
+ */
+public final class PacketFields {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle[] NO_SETTERS = new MethodHandle[0];
+
+    private final Class<?> packetClass;
+    private final Class<?>[] types;
+    private final MethodHandle[][] setters;
+    private final MethodHandle[] componentSetters;
+
+    private PacketFields(Class<?> packetClass, Class<?>[] types, MethodHandle[][] setters, MethodHandle[] componentSetters) {
+        this.packetClass = packetClass;
+        this.types = types;
+        this.setters = setters;
+        this.componentSetters = componentSetters;
+    }
+
+    /**
+     * Compile the setters of all the instance fields of a packet class.
+     *
+     * @param packetClass   the packet class
+     * @param componentType the chat component class, fields of this type are counted together with the String fields
+     * @param lookup        the lookup used to access the fields
+     * @return the compiled setters
+     * @throws ReflectiveOperationException if a setter can't be created
+     */
+    public static PacketFields compile(Class<?> packetClass, Class<?> componentType, MethodHandles.Lookup lookup)
+            throws ReflectiveOperationException {
+        List<Class<?>> types = new ArrayList<>();
+        List<List<MethodHandle>> setters = new ArrayList<>();
+        List<MethodHandle> componentSetters = new ArrayList<>();
+        MethodHandle fieldSet = lookup.findVirtual(Field.class, "set", SETTER_TYPE);
+
+        for (Field field : packetClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            field.setAccessible(true);
+            MethodHandle setter;
+            try {
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                // Records and hidden classes can't be written through a method handle,
+                // keep the reflective behavior so it only fails if the field is actually used
+                setter = fieldSet.bindTo(field);
+            }
+
+            int typeIndex = types.indexOf(field.getType());
+            if (typeIndex == -1) {
+                types.add(field.getType());
+                setters.add(new ArrayList<>());
+                typeIndex = types.size() - 1;
+            }
+            setters.get(typeIndex).add(setter);
+
+            if (field.getType() == String.class || field.getType() == componentType) {
+                componentSetters.add(setter);
+            }
+        }
+
+        return new PacketFields(
+                packetClass,
+                types.toArray(new Class<?>[0]),
+                setters.stream().map(list -> list.toArray(NO_SETTERS)).toArray(MethodHandle[][]::new),
+                componentSetters.toArray(NO_SETTERS)
+        );
+    }
+
+    public Class<?> getPacketClass() {
+        return this.packetClass;
+    }
+
+    /**
+     * Get the setter of a field.
+     *
+     * @param fieldType the type of the field
+     * @param ordinal   the index of the field among the fields of the same type
+     * @return the setter taking the packet and the value, or null if there is no such field
+     */
+    public MethodHandle setter(Class<?> fieldType, int ordinal) {
+        MethodHandle[] typeSetters = settersOf(fieldType);
+        return ordinal < typeSetters.length ? typeSetters[ordinal] : null;
+    }
+
+    /**
+     * Get the setter of a text field, String and chat component fields are counted together.
+     *
+     * @param ordinal the index of the field among the text fields
+     * @return the setter taking the packet and the value, or null if there is no such field
+     */
+    public MethodHandle componentSetter(int ordinal) {
+        return ordinal < this.componentSetters.length ? this.componentSetters[ordinal] : null;
+    }
+
+    /**
+     * Set the value of a field, nothing happens if the packet has no such field.
+     *
+     * @param packet    the packet
+     * @param fieldType the type of the field
+     * @param value     the new value
+     * @param ordinal   the index of the field among the fields of the same type
+     * @throws Throwable if the field can't be set
+     */
+    public void set(Object packet, Class<?> fieldType, Object value, int ordinal) throws Throwable {
+        MethodHandle setter = setter(fieldType, ordinal);
+        if (setter != null) {
+            setter.invokeExact(packet, value);
+        }
+    }
+
+    /**
+     * Set the value of a text field, nothing happens if the packet has no such field.
+     *
+     * @param packet  the packet
+     * @param value   the new value
+     * @param ordinal the index of the field among the text fields
+     * @throws Throwable if the field can't be set
+     */
+    public void setComponent(Object packet, Object value, int ordinal) throws Throwable {
+        MethodHandle setter = componentSetter(ordinal);
+        if (setter != null) {
+            setter.invokeExact(packet, value);
+        }
+    }
+
+    private MethodHandle[] settersOf(Class<?> fieldType) {
+        Class<?>[] types = this.types;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == fieldType) {
+                return this.setters[i];
+            }
+        }
+        return NO_SETTERS;
+    }
+
+    @Override
+    public String toString() {
+        return "PacketFields{" + this.packetClass.getName() + ", types=" + Arrays.toString(this.types) + '}';
+    }
+}
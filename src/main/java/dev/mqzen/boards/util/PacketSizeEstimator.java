@@ -0,0 +1,121 @@
+package dev.mqzen.boards.util;
+
+/**
+ * Estimates how many bytes the scoreboard packets take on the wire, before compression.
+ * The estimates follow the layout of the packets on recent versions, with the text components
+ * counted as their text plus a fixed overhead, so they're close enough to budget the traffic
+ * of a player without encoding the packets.
+ */
+public final class PacketSizeEstimator {
+
+    // the length prefix of the frame and the id of the packet
+    private static final int PACKET_OVERHEAD = 3;
+    // the structure of a text component around its text, as JSON or NBT
+    private static final int COMPONENT_OVERHEAD = 12;
+    // the name tag visibility and collision rule of a team, "always" for both
+    private static final int TEAM_RULES = 2 * (1 + 6);
+
+    private PacketSizeEstimator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @param objective the name of the objective
+     * @param title     the title, with its colors as section signs
+     * @return the size of an objective packet creating or updating the objective
+     */
+    public static int objective(String objective, String title) {
+        // mode, render type and number format
+        return PACKET_OVERHEAD + string(objective) + 1 + component(title) + 1 + 1;
+    }
+
+    /**
+     * @param objective the name of the objective
+     * @return the size of the packet displaying the objective in the sidebar
+     */
+    public static int displayObjective(String objective) {
+        return PACKET_OVERHEAD + 1 + string(objective);
+    }
+
+    /**
+     * @param entry       the score holder, the invisible entry of the line
+     * @param objective   the name of the objective
+     * @param displayText the text shown instead of the score, or null
+     * @return the size of a score packet
+     */
+    public static int score(String entry, String objective, String displayText) {
+        // value, display name and number format flags
+        int size = PACKET_OVERHEAD + string(entry) + string(objective) + 1 + 1 + 1;
+        if (displayText != null) {
+            size += 1 + component(displayText);
+        }
+        return size;
+    }
+
+    /**
+     * @param team   the name of the team
+     * @param create true if the team is created, its entry is then added to it
+     * @param remove true if the team is removed, nothing else is sent
+     * @param prefix the prefix of the team, or null
+     * @param suffix the suffix of the team, or null
+     * @param entry  the entry of the line the team holds
+     * @return the size of a team packet
+     */
+    public static int team(String team, boolean create, boolean remove, String prefix, String suffix, String entry) {
+        int size = PACKET_OVERHEAD + string(team) + 1;
+        if (remove) {
+            return size;
+        }
+
+        // display name, friendly flags, rules, color, prefix and suffix
+        size += component("") + 1 + TEAM_RULES + 1 + component(prefix) + component(suffix);
+        if (create) {
+            size += 1 + string(entry);
+        }
+        return size;
+    }
+
+    /**
+     * @param text the text, or null
+     * @return the size of a text component holding this text
+     */
+    public static int component(String text) {
+        return COMPONENT_OVERHEAD + (text == null ? 0 : utf8Length(text));
+    }
+
+    /**
+     * @param text the text
+     * @return the size of a string prefixed by its length
+     */
+    public static int string(String text) {
+        int length = utf8Length(text);
+        return varIntLength(length) + length;
+    }
+
+    public static int varIntLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    public static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}